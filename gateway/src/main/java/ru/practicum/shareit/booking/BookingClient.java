@@ -11,6 +11,7 @@ import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -27,24 +28,35 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return get("?" + listQuery(cursor), userId, listParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getBookingsForOwner(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner/?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookingsForOwner(long userId, BookingState state, Integer from, Integer size,
+                                                      String cursor) {
+        return get("/owner/?" + listQuery(cursor), userId, listParameters(state, from, size, cursor));
     }
 
+    private static String listQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            query += "&cursor={cursor}";
+        }
+        return query;
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size,
+                                                      String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
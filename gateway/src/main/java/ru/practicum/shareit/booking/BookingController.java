@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.WrongStateException;
@@ -20,6 +21,7 @@ import ru.practicum.shareit.exception.WrongStateException;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @AllArgsConstructor
@@ -29,6 +31,8 @@ import javax.validation.constraints.PositiveOrZero;
 public class BookingController {
 	private final BookingClient bookingClient;
 
+	private final BookingStreamClient bookingStreamClient;
+
 	@PostMapping
 	public ResponseEntity<Object> addBooking(@RequestHeader("X-Sharer-User-Id") Long id,
 											 @Valid @RequestBody BookItemRequestDto bookingDto) {
@@ -36,6 +40,13 @@ public class BookingController {
 		return bookingClient.bookItem(id, bookingDto);
 	}
 
+	@GetMapping("/stream")
+	public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> streamBookings(
+			@RequestHeader("X-Sharer-User-Id") Long userId) {
+		log.info("Stream bookings for: {}", userId);
+		return bookingStreamClient.stream(userId);
+	}
+
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
 											 @PathVariable Long bookingId) {
@@ -57,12 +68,13 @@ public class BookingController {
 												@RequestParam(value = "from", defaultValue = "0")
 												@PositiveOrZero int from,
 												@RequestParam(value = "size", defaultValue = "20")
-												@Positive int size) {
+												@Positive int size,
+												@RequestParam(value = "cursor", required = false) String cursor) {
 		log.info("Get all bookings by state: {}", state);
 		BookingState bookingState = BookingState.from(state).orElseThrow(() ->
 				new WrongStateException("Unknown state: " + state));
 
-		return bookingClient.getBookings(userId, bookingState, from, size);
+		return bookingClient.getBookings(userId, bookingState, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
@@ -71,10 +83,11 @@ public class BookingController {
 												@RequestParam(value = "from", defaultValue = "0")
 												@PositiveOrZero int from,
 												@RequestParam(value = "size", defaultValue = "20")
-												@Positive int size) {
+												@Positive int size,
+												@RequestParam(value = "cursor", required = false) String cursor) {
 		log.info("Owner request. Get all bookings by state : {}", state);
 		BookingState bookingState = BookingState.from(state).orElseThrow(() ->
 				new WrongStateException("Unknown state: " + state));
-		return bookingClient.getBookingsForOwner(userId, bookingState, from, size);
+		return bookingClient.getBookingsForOwner(userId, bookingState, from, size, cursor);
 	}
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+@Slf4j
+@Service
+public class BookingStreamClient {
+    private static final String API_PREFIX = "/bookings/stream";
+
+    private static final MediaType LINE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final URI uri;
+
+    private final long timeoutMillis;
+
+    @Autowired
+    public BookingStreamClient(@Value("${shareit-server.url}") String serverUrl,
+                               @Value("${shareit.bookings.stream.timeout-ms}") long timeoutMillis) {
+        this.uri = URI.create(serverUrl + API_PREFIX);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> stream(long userId) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        CompletableFuture<ResponseEntity<ResponseBodyEmitter>> response = new CompletableFuture<>();
+        httpClient.sendAsync(request, info -> {
+            if (info.statusCode() != HttpStatus.OK.value()) {
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+                    response.complete(error(info.statusCode(), body));
+                    return null;
+                });
+            }
+            response.complete(ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(emitter));
+            return HttpResponse.BodySubscribers.fromLineSubscriber(new LineForwarder(emitter));
+        }).whenComplete((result, e) -> {
+            if (e != null && !response.completeExceptionally(e)) {
+                emitter.completeWithError(e);
+            }
+        });
+        return response;
+    }
+
+    private static ResponseEntity<ResponseBodyEmitter> error(int status, byte[] body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emitter);
+    }
+
+    private static class LineForwarder implements Flow.Subscriber<String> {
+        private final ResponseBodyEmitter emitter;
+
+        private Flow.Subscription subscription;
+
+        LineForwarder(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            emitter.onCompletion(subscription::cancel);
+            emitter.onTimeout(subscription::cancel);
+            emitter.onError(e -> subscription.cancel());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(String line) {
+            try {
+                emitter.send(line + "\n", LINE);
+                subscription.request(1);
+            } catch (IOException | IllegalStateException e) {
+                subscription.cancel();
+                emitter.completeWithError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.info("Booking stream from server failed: {}", throwable.getMessage());
+            emitter.completeWithError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.bulk;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+public class BulkClient extends BaseClient {
+    private static final String API_PREFIX = "/bulk";
+
+    @Autowired
+    public BulkClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> {
+                            HttpComponentsClientHttpRequestFactory factory =
+                                    new HttpComponentsClientHttpRequestFactory();
+                            factory.setBufferRequestBody(false);
+                            return factory;
+                        })
+                        .build()
+        );
+    }
+
+    public ResponseEntity<Object> importUsers(InputStream body) {
+        return stream("/users", null, body);
+    }
+
+    public ResponseEntity<Object> importItems(long userId, InputStream body) {
+        return stream("/items", userId, body);
+    }
+
+    public ResponseEntity<Object> importBookings(long userId, InputStream body) {
+        return stream("/bookings", userId, body);
+    }
+
+    private ResponseEntity<Object> stream(String path, Long userId, InputStream body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        try {
+            return rest.exchange(path, HttpMethod.POST, new HttpEntity<>(new InputStreamResource(body), headers),
+                    Object.class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+}
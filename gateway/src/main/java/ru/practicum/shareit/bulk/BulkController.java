@@ -0,0 +1,38 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.InputStream;
+
+@Controller
+@AllArgsConstructor
+@Slf4j
+@RequestMapping(path = "/bulk")
+public class BulkController {
+    private final BulkClient bulkClient;
+
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importUsers(InputStream body) {
+        log.info("Bulk import users");
+        return bulkClient.importUsers(body);
+    }
+
+    @PostMapping(value = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Long id, InputStream body) {
+        log.info("Bulk import items: {}", id);
+        return bulkClient.importItems(id, body);
+    }
+
+    @PostMapping(value = "/bookings", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importBookings(@RequestHeader("X-Sharer-User-Id") Long id, InputStream body) {
+        log.info("Bulk import bookings: {}", id);
+        return bulkClient.importBookings(id, body);
+    }
+}
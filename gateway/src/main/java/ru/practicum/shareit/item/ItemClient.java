@@ -11,6 +11,7 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -35,13 +36,23 @@ public class ItemClient extends BaseClient {
         return get("/?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItemByKeyword(long id, String text, Integer from, Integer size) {
+    public ResponseEntity<Object> searchItemByKeyword(long id, String text, Integer from, Integer size,
+                                                      boolean fuzzy) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
+                "size", size,
+                "fuzzy", fuzzy
+        );
+        return get("/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}", id, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(long id, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", id, parameters);
+        return get("/suggest?prefix={prefix}&size={size}", id, parameters);
     }
 
 
@@ -49,6 +60,17 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> getComments(long userId, long itemId, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        String query = "/" + itemId + "/comments?size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return get(query, userId, parameters);
+    }
+
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
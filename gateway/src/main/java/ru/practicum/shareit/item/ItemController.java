@@ -65,9 +65,30 @@ public class ItemController {
                                              @RequestParam(value = "from", defaultValue = "0")
                                              @PositiveOrZero int from,
                                              @RequestParam(value = "size", defaultValue = "20")
-                                             @Positive int size) {
-        log.info("Search by: {}", text);
-        return itemClient.searchItemByKeyword(id, text, from, size);
+                                             @Positive int size,
+                                             @RequestParam(value = "fuzzy", defaultValue = "false")
+                                             boolean fuzzy) {
+        log.info("Search by: {}, fuzzy: {}", text, fuzzy);
+        return itemClient.searchItemByKeyword(id, text, from, size, fuzzy);
+    }
+
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<Object> suggestItemNames(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                   @RequestParam(value = "prefix") String prefix,
+                                                   @RequestParam(value = "size", defaultValue = "10")
+                                                   @Positive int size) {
+        log.info("Suggest by: {}", prefix);
+        return itemClient.suggestItemNames(id, prefix, size);
+    }
+
+    @GetMapping(value = "/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") Long id,
+                                              @PathVariable Long itemId,
+                                              @RequestParam(value = "size", defaultValue = "20")
+                                              @Positive int size,
+                                              @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Get comments: {}", itemId);
+        return itemClient.getComments(id, itemId, size, cursor);
     }
 
     @PostMapping(value = "/{itemId}/comment")
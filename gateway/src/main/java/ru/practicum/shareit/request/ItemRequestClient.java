@@ -10,6 +10,7 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -26,20 +27,36 @@ public class ItemRequestClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String query = "/?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return get(query, userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllRequestsWithParameters(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String query = "/all/?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return get(query, userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllRequestsWithParameters(long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getSuggestions(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all/?from={from}&size={size}", userId, parameters);
+        return get("/suggestions/?from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addItemRequest(long userId, ItemRequestDto requestDto) {
@@ -40,9 +40,10 @@ public class ItemRequestController {
                                                  @RequestParam(value = "from", defaultValue = "0")
                                                  @PositiveOrZero int from,
                                                  @RequestParam(value = "size", defaultValue = "20")
-                                                 @Positive int size) {
+                                                 @Positive int size,
+                                                 @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Get all requests by: {}", id);
-        return itemRequestClient.getAllRequests(id, from, size);
+        return itemRequestClient.getAllRequests(id, from, size, cursor);
     }
 
     @GetMapping("/all")
@@ -50,9 +51,21 @@ public class ItemRequestController {
                                                              @RequestParam(value = "from", defaultValue = "0")
                                                              @PositiveOrZero int from,
                                                              @RequestParam(value = "size", defaultValue = "20")
-                                                             @Positive int size) {
+                                                             @Positive int size,
+                                                             @RequestParam(value = "cursor", required = false)
+                                                             String cursor) {
         log.info("Get all requests with pages by: {}, {}, {}", id, from, size);
-        return itemRequestClient.getAllRequestsWithParameters(id, from, size);
+        return itemRequestClient.getAllRequestsWithParameters(id, from, size, cursor);
+    }
+
+    @GetMapping("/suggestions")
+    public ResponseEntity<Object> getSuggestions(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                 @RequestParam(value = "from", defaultValue = "0")
+                                                 @PositiveOrZero int from,
+                                                 @RequestParam(value = "size", defaultValue = "20")
+                                                 @Positive int size) {
+        log.info("Get item suggestions for owner: {}", id);
+        return itemRequestClient.getSuggestions(id, from, size);
     }
 
     @GetMapping("/{requestId}")
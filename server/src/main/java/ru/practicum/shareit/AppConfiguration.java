@@ -1,12 +1,16 @@
 package ru.practicum.shareit;
 
 import org.mapstruct.factory.Mappers;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 public class AppConfiguration {
     @Bean
@@ -23,4 +27,13 @@ public class AppConfiguration {
     public BookingMapper bookingMapper() {
         return Mappers.getMapper(BookingMapper.class);
     }
+
+    @Bean
+    public FlywayConfigurationCustomizer idAllocationSizePlaceholder() {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put("id_allocation_size", String.valueOf(IdSequences.ALLOCATION_SIZE));
+            configuration.placeholders(placeholders);
+        };
+    }
 }
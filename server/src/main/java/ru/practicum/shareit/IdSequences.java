@@ -0,0 +1,9 @@
+package ru.practicum.shareit;
+
+public final class IdSequences {
+    // Also feeds the id_allocation_size Flyway placeholder that sets the sequence increments
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
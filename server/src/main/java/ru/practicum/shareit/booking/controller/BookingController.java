@@ -1,7 +1,8 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,35 +16,47 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithEntities;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingEventStream;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
-
     private final BookingService bookingService;
 
     private final BookingMapper bookingMapper;
 
     private final UserService userService;
 
-    private final ItemService itemService;
+    private final BookingEventStream bookingEventStream;
 
     @PostMapping
     public BookingDtoWithEntities addBooking(@RequestHeader("X-Sharer-User-Id") Long id,
                                              @RequestBody BookingDto bookingDto) {
         bookingDto.setBookerId(id);
         Booking booking = bookingMapper.bookingDtoToBooking(bookingDto);
-        booking.setItem(itemService.getItemById(id, booking.getItem().getId()));
         booking.setBooker(userService.getUser(booking.getBooker().getId()));
         return bookingMapper.bookingToBookingDtoWithEntities(bookingService.addBooking(id, booking));
     }
 
+    @GetMapping("/stream")
+    public void streamBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        userService.getUser(userId);
+        bookingEventStream.subscribe(userId, request, response);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoWithEntities getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long bookingId) {
@@ -59,20 +72,41 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoWithEntities> getAllUserBookingsByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @RequestParam(value = "state") String state,
-                                         @RequestParam(value = "from") int from,
-                                         @RequestParam(value = "size") int size) {
-        return bookingMapper.toListDtoWithEntities(bookingService.getAllUserBookingsByState(userId, state,
-                PageRequest.of(from / size, size)));
+    public ResponseEntity<List<BookingDtoWithEntities>> getAllUserBookingsByState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state") String state,
+            @RequestParam(value = "from", defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingMapper.toListDtoWithEntities(bookingService
+                    .getAllUserBookingsByState(userId, state, OffsetPageRequest.of(from, size))));
+        }
+        return withNextCursor(bookingService.getAllUserBookingsByState(userId, state,
+                BookingCursor.decode(cursor), size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoWithEntities> getAllOwnerBookingsByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(value = "state") String state,
-                                                @RequestParam(value = "from") int from,
-                                                @RequestParam(value = "size") int size) {
-        return bookingMapper.toListDtoWithEntities(bookingService.getAllOwnerBookingsByState(userId, state,
-                PageRequest.of(from / size, size)));
+    public ResponseEntity<List<BookingDtoWithEntities>> getAllOwnerBookingsByState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state") String state,
+            @RequestParam(value = "from", defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingMapper.toListDtoWithEntities(bookingService
+                    .getAllOwnerBookingsByState(userId, state, OffsetPageRequest.of(from, size))));
+        }
+        return withNextCursor(bookingService.getAllOwnerBookingsByState(userId, state,
+                BookingCursor.decode(cursor), size));
+    }
+
+    private ResponseEntity<List<BookingDtoWithEntities>> withNextCursor(Slice<Booking> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<Booking> content = bookings.getContent();
+        if (bookings.hasNext()) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER, BookingCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return response.body(bookingMapper.toListDtoWithEntities(content));
     }
 }
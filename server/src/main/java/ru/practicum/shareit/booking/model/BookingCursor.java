@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.pagination.CursorCodec;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    private final Timestamp start;
+
+    private final Long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String value) {
+        return CursorCodec.decode(value, BookingCursor::new);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(start, id);
+    }
+}
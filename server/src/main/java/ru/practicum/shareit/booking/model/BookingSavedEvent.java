@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingSavedEvent {
+    private final Long id;
+
+    private final Long itemId;
+
+    private final Long bookerId;
+
+    private final Long ownerId;
+
+    private final BookingStatus status;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    public static BookingSavedEvent of(Booking booking) {
+        return new BookingSavedEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getItem().getOwner().getId(), booking.getStatus(), booking.getStart().toLocalDateTime(),
+                booking.getEnd().toLocalDateTime());
+    }
+}
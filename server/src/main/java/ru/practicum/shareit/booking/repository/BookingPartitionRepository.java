@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+@AllArgsConstructor
+public class BookingPartitionRepository {
+    private static final String PARTITION_PREFIX = "bookings_p";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String ARCHIVE_BOUND_CHECK = "bookings_archive_bound";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList("select c.relname from pg_inherits i " +
+                        "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent " +
+                        "where p.relname = 'bookings' and c.relname like 'bookings\\_p%' order by c.relname",
+                        String.class).stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .collect(Collectors.toList());
+    }
+
+    public boolean hasOngoingBookings(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 from "
+                + partitionName(month) + " where end_date >= localtimestamp)", Boolean.class));
+    }
+
+    @Transactional
+    public void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("create table " + partition + " (like bookings)");
+        jdbcTemplate.update("with moved as (delete from bookings_default where start_date >= ? and start_date < ? " +
+                "returning *) insert into " + partition + " select * from moved", month.atDay(1),
+                month.plusMonths(1).atDay(1));
+        jdbcTemplate.execute("alter table bookings attach partition " + partition + " for values from ('"
+                + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    public void addArchiveBoundCheck(List<YearMonth> months) {
+        jdbcTemplate.execute("alter table bookings_archive drop constraint if exists " + ARCHIVE_BOUND_CHECK);
+        jdbcTemplate.execute("alter table bookings_archive add constraint " + ARCHIVE_BOUND_CHECK
+                + " check (start_date < '" + archiveBound(months) + "') not valid");
+        jdbcTemplate.execute("alter table bookings_archive validate constraint " + ARCHIVE_BOUND_CHECK);
+    }
+
+    @Transactional
+    public void archivePartitions(List<YearMonth> months) {
+        jdbcTemplate.execute("alter table bookings detach partition bookings_archive");
+        for (YearMonth month : months) {
+            String partition = partitionName(month);
+            jdbcTemplate.execute("alter table bookings detach partition " + partition);
+            jdbcTemplate.execute("insert into bookings_archive select * from " + partition);
+            jdbcTemplate.execute("drop table " + partition);
+        }
+        jdbcTemplate.execute("alter table bookings attach partition bookings_archive for values from (minvalue) to ('"
+                + archiveBound(months) + "')");
+        jdbcTemplate.execute("alter table bookings_archive drop constraint " + ARCHIVE_BOUND_CHECK);
+    }
+
+    private LocalDate archiveBound(List<YearMonth> months) {
+        return months.get(months.size() - 1).plusMonths(1).atDay(1);
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
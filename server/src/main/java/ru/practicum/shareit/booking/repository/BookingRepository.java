@@ -1,21 +1,59 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.LockModeType;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
-        PagingAndSortingRepository<Booking, Long> {
-    Page<Booking> findAll(Specification<Booking> spec, Pageable pageable);
+        PagingAndSortingRepository<Booking, Long>, BookingRepositoryCustom {
+    @EntityGraph("Booking.withItemAndBooker")
+    Optional<Booking> findById(Long id);
 
     @Query(value = "select * from bookings where booker_id = ?1 and item_id = ?2 and status = 'APPROVED' " +
             "and start_date < CURRENT_TIMESTAMP limit 1", nativeQuery = true)
     Optional<Booking> checkUserBookings(Long bookerId, Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker where b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "where b.id = :bookingId and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId) " +
+            "and not exists (select o.id from Booking o where o.item.id = b.item.id " +
+            "and o.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and o.start < b.end and o.end > b.start)")
+    int approveWaitingWithoutOverlap(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status, Timestamp end,
+                                                            Timestamp start);
+
+    Optional<Booking> findFirstByItemIdAndStartBeforeOrderByStartDesc(Long itemId, Timestamp now);
+
+    Optional<Booking> findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(Long itemId, Timestamp now,
+                                                                             BookingStatus status);
+
+    @Query(value = "select * from (select b.*, row_number() over (partition by b.item_id " +
+            "order by b.start_date desc) as rn from bookings b where b.item_id in (:itemIds) " +
+            "and b.start_date < :now) as ranked where ranked.rn = 1", nativeQuery = true)
+    List<Booking> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("now") Timestamp now);
+
+    @Query(value = "select * from (select b.*, row_number() over (partition by b.item_id " +
+            "order by b.start_date asc) as rn from bookings b where b.item_id in (:itemIds) " +
+            "and b.start_date > :now and b.status = 'APPROVED') as ranked where ranked.rn = 1", nativeQuery = true)
+    List<Booking> findNextBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("now") Timestamp now);
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+public interface BookingRepositoryCustom {
+    Slice<Booking> findSlice(Specification<Booking> spec, Pageable pageable);
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Booking> findSlice(Specification<Booking> spec, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Item> item = root.join("item");
+        Join<Item, User> owner = item.join("owner");
+        Join<Item, ItemRequest> request = item.join("request", JoinType.LEFT);
+        Join<ItemRequest, User> requestor = request.join("requestor", JoinType.LEFT);
+        Join<Booking, User> booker = root.join("booker");
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        selections.add(root.get("start").alias("start"));
+        selections.add(root.get("end").alias("end"));
+        selections.add(root.get("status").alias("status"));
+        selections.add(item.get("id").alias("itemId"));
+        selections.add(item.get("name").alias("itemName"));
+        selections.add(item.get("description").alias("itemDescription"));
+        selections.add(item.get("available").alias("itemAvailable"));
+        selections.add(request.get("id").alias("requestId"));
+        selections.add(request.get("description").alias("requestDescription"));
+        selections.add(request.get("created").alias("requestCreated"));
+        addUserSelections(selections, owner, "owner");
+        addUserSelections(selections, requestor, "requestor");
+        addUserSelections(selections, booker, "booker");
+        query.multiselect(selections);
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(toBookings(typedQuery.getResultList()), pageable, false);
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<Tuple> rows = typedQuery.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(toBookings(rows), pageable, hasNext);
+    }
+
+    private void addUserSelections(List<Selection<?>> selections, From<?, User> user, String prefix) {
+        selections.add(user.get("id").alias(prefix + "Id"));
+        selections.add(user.get("name").alias(prefix + "Name"));
+        selections.add(user.get("email").alias(prefix + "Email"));
+    }
+
+    private List<Booking> toBookings(List<Tuple> rows) {
+        Map<Long, Item> items = new HashMap<>();
+        Map<Long, User> users = new HashMap<>();
+        List<Booking> bookings = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Booking booking = new Booking();
+            booking.setId(row.get("id", Long.class));
+            booking.setStart(row.get("start", Timestamp.class));
+            booking.setEnd(row.get("end", Timestamp.class));
+            booking.setStatus(row.get("status", BookingStatus.class));
+            booking.setItem(items.computeIfAbsent(row.get("itemId", Long.class), id -> toItem(row, users)));
+            booking.setBooker(toUser(row, "booker", users));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private Item toItem(Tuple row, Map<Long, User> users) {
+        Item item = new Item();
+        item.setId(row.get("itemId", Long.class));
+        item.setName(row.get("itemName", String.class));
+        item.setDescription(row.get("itemDescription", String.class));
+        item.setAvailable(row.get("itemAvailable", Boolean.class));
+        item.setOwner(toUser(row, "owner", users));
+        Long requestId = row.get("requestId", Long.class);
+        if (requestId != null) {
+            ItemRequest request = new ItemRequest();
+            request.setId(requestId);
+            request.setDescription(row.get("requestDescription", String.class));
+            request.setCreated(row.get("requestCreated", Timestamp.class));
+            request.setRequestor(toUser(row, "requestor", users));
+            item.setRequest(request);
+        }
+        return item;
+    }
+
+    private User toUser(Tuple row, String prefix, Map<Long, User> users) {
+        return users.computeIfAbsent(row.get(prefix + "Id", Long.class), id -> {
+            User user = new User();
+            user.setId(id);
+            user.setName(row.get(prefix + "Name", String.class));
+            user.setEmail(row.get(prefix + "Email", String.class));
+            return user;
+        });
+    }
+}
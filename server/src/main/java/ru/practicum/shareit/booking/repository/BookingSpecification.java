@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -97,4 +98,25 @@ public class BookingSpecification {
             return spec.toPredicate(root, query, builder);
         };
     }
+
+    public static Specification<Booking> startAndIdBefore(final BookingCursor cursor) {
+        return new Specification<Booking>() {
+            @Override
+            public Predicate toPredicate(Root<Booking> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+                if (cursor == null) {
+                    return criteriaBuilder.conjunction();
+                }
+                return criteriaBuilder.or(criteriaBuilder.lessThan(root.get("start"), cursor.getStart()),
+                        criteriaBuilder.and(criteriaBuilder.equal(root.get("start"), cursor.getStart()),
+                                criteriaBuilder.lessThan(root.get("id"), cursor.getId())));
+            }
+        };
+    }
+
+    public static Specification<Booking> orderByStartDateAndIdDesc(Specification<Booking> spec) {
+        return (root, query, builder) -> {
+            query.orderBy(builder.desc(root.get("start")), builder.desc(root.get("id")));
+            return spec.toPredicate(root, query, builder);
+        };
+    }
 }
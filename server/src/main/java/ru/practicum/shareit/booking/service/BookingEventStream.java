@@ -0,0 +1,287 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.model.BookingSavedEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class BookingEventStream {
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ObjectMapper objectMapper;
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final long heartbeatMillis;
+
+    private final long writeTimeoutNanos;
+
+    // Not a bean and not @Scheduled: the default single-thread scheduler is shared with partition maintenance and
+    // request matching, and a long run of either would hold back heartbeats and the stalled-writer check
+    private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+
+    private final Counter overflows;
+
+    private final Counter writeTimeouts;
+
+    public BookingEventStream(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.bookings.stream.buffer-size}") int bufferSize,
+                              @Value("${shareit.bookings.stream.timeout-ms}") long timeoutMillis,
+                              @Value("${shareit.bookings.stream.heartbeat-ms}") long heartbeatMillis,
+                              @Value("${shareit.bookings.stream.write-timeout-ms}") long writeTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.overflows = meterRegistry.counter("bookings.stream.overflows");
+        this.writeTimeouts = meterRegistry.counter("bookings.stream.write-timeouts");
+        meterRegistry.gauge("bookings.stream.subscribers", subscriberCount);
+    }
+
+    public void subscribe(Long userId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, asyncContext, response.getOutputStream());
+        asyncContext.addListener(subscriber);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        subscriber.out.setWriteListener(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSaved(BookingSavedEvent event) {
+        byte[] message;
+        try {
+            message = ("event:booking\ndata:" + objectMapper.writeValueAsString(event) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        send(event.getBookerId(), message);
+        if (!Objects.equals(event.getOwnerId(), event.getBookerId())) {
+            send(event.getOwnerId(), message);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeatScheduler.setThreadNamePrefix("booking-stream-");
+        heartbeatScheduler.initialize();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatMillis));
+    }
+
+    public void heartbeat() {
+        long now = System.nanoTime();
+        forEachSubscriber(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                writeTimeouts.increment();
+                log.info("Booking stream of user {} made no write progress in time, closing it", subscriber.userId);
+                subscriber.close();
+            } else if (subscriber.isIdle()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdown();
+        forEachSubscriber(Subscriber::close);
+    }
+
+    private void send(Long userId, byte[] message) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(action));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private class Subscriber implements WriteListener, AsyncListener {
+        private final Long userId;
+
+        private final AsyncContext asyncContext;
+
+        private final ServletOutputStream out;
+
+        private Queue<byte[]> pending;
+
+        private boolean flushPending = true;
+
+        private long blockedSince = System.nanoTime();
+
+        private boolean closed;
+
+        Subscriber(Long userId, AsyncContext asyncContext, ServletOutputStream out) {
+            this.userId = userId;
+            this.asyncContext = asyncContext;
+            this.out = out;
+        }
+
+        synchronized boolean isIdle() {
+            return pending == null && blockedSince == 0;
+        }
+
+        synchronized boolean isStalled(long now) {
+            return blockedSince != 0 && now - blockedSince > writeTimeoutNanos;
+        }
+
+        void offer(byte[] message) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending == null) {
+                    pending = new ArrayDeque<>();
+                }
+                overflow = pending.size() == bufferSize;
+                if (!overflow) {
+                    pending.add(message);
+                    if (blockedSince == 0) {
+                        write();
+                    }
+                }
+            }
+            if (overflow) {
+                overflows.increment();
+                log.info("Booking stream of user {} fell {} events behind, closing it", userId, bufferSize);
+                close();
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            blockedSince = 0;
+            write();
+        }
+
+        private void write() {
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] message = pending == null ? null : pending.poll();
+                    if (message != null) {
+                        out.write(message);
+                        flushPending = true;
+                    } else if (flushPending) {
+                        out.flush();
+                        flushPending = false;
+                    } else {
+                        pending = null;
+                        return;
+                    }
+                }
+                if (!closed) {
+                    blockedSince = System.nanoTime();
+                }
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending = null;
+            }
+            unsubscribe(this);
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Booking stream of user {} is already completed", userId);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("Booking stream of user {} failed: {}", userId, throwable.getMessage());
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            synchronized (this) {
+                closed = true;
+                pending = null;
+            }
+            unsubscribe(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
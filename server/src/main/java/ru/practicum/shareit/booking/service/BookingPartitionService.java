@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.repository.BookingPartitionRepository;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.bookings.partitioning.enabled", havingValue = "true")
+public class BookingPartitionService {
+    private final BookingPartitionRepository partitionRepository;
+
+    private final int monthsAhead;
+
+    private final int archiveAfterMonths;
+
+    public BookingPartitionService(BookingPartitionRepository partitionRepository,
+                                   @Value("${shareit.bookings.partitioning.months-ahead}") int monthsAhead,
+                                   @Value("${shareit.bookings.partitioning.archive-after-months}")
+                                   int archiveAfterMonths) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @Scheduled(cron = "${shareit.bookings.partitioning.cron}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        createPartitions(currentMonth);
+        if (archiveAfterMonths > 0) {
+            archivePartitions(currentMonth.minusMonths(archiveAfterMonths));
+        }
+    }
+
+    public void createPartitions(YearMonth currentMonth) {
+        List<YearMonth> existing = partitionRepository.findMonthlyPartitions();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!existing.contains(month)) {
+                partitionRepository.createPartition(month);
+                log.info("Created bookings partition for {}", month);
+            }
+        }
+    }
+
+    public void archivePartitions(YearMonth before) {
+        List<YearMonth> archived = new ArrayList<>();
+        for (YearMonth month : partitionRepository.findMonthlyPartitions()) {
+            if (!month.isBefore(before) || partitionRepository.hasOngoingBookings(month)) {
+                break;
+            }
+            archived.add(month);
+        }
+        if (!archived.isEmpty()) {
+            partitionRepository.addArchiveBoundCheck(archived);
+            partitionRepository.archivePartitions(archived);
+            log.info("Moved bookings partitions {} to the archive", archived);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingSavedEvent;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.error.exception.BookingByOwnerException;
-import ru.practicum.shareit.error.exception.EndBeforeStartException;
 import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnavailableItemException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
@@ -17,20 +22,24 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.util.ArrayList;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import static ru.practicum.shareit.booking.repository.BookingSpecification.endAfterNow;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.endBeforeNow;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasBookerId;
-import static ru.practicum.shareit.booking.repository.BookingSpecification.hasItemId;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasOwnerId;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasStatus;
-import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateAsc;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateAndIdDesc;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateDesc;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.startAfterNow;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.startAndIdBefore;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.startBeforeNow;
 
 @Service
@@ -42,19 +51,26 @@ public class BookingService {
 
     private final ItemRepository itemRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
     public Booking addBooking(Long id, Booking booking) {
-        if (!booking.getItem().getAvailable()) {
-            throw new UnavailableItemException("Item is not available");
-        }
-        if (booking.getStart().after(booking.getEnd()) || booking.getStart().equals(booking.getEnd())) {
-            throw new EndBeforeStartException("Incorrect end date provided");
-        }
-        if (Objects.equals(itemRepository.findById(booking.getItem().getId()).orElseThrow(UnknownIdException::new)
-                .getOwner().getId(), id)) {
-            throw new BookingByOwnerException("Booking by owner attempt");
-        }
+        Item item = itemRepository.findByIdForUpdate(booking.getItem().getId())
+                .orElseThrow(UnknownIdException::new);
+        BookingValidator.validateNewBooking(id, booking, item);
+        booking.setItem(item);
+        checkNoApprovedOverlap(booking);
         booking.setStatus(BookingStatus.WAITING);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingSavedEvent.of(saved));
+        return saved;
+    }
+
+    private void checkNoApprovedOverlap(Booking booking) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new UnavailableItemException("Item is already booked for these dates");
+        }
     }
 
     public Booking getBooking(Long userId, Long bookingId) {
@@ -68,129 +84,136 @@ public class BookingService {
         return booking;
     }
 
+    @Transactional
     public Booking setBookingStatus(Long userId, Long bookingId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(UnknownIdException::new);
-        if (!userRepository.existsById(userId)) {
-            throw new UnknownIdException("Id not found");
-        }
-        Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(UnknownIdException::new);
-        if (!userId.equals(item.getOwner().getId())) {
-            throw new IllegalUserException("Wrong user id provided");
-        }
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId).orElseThrow(UnknownIdException::new);
+        checkStatusChange(userId, booking);
         if (approved) {
-            if (!booking.getStatus().equals(BookingStatus.APPROVED)) {
-                booking.setStatus(BookingStatus.APPROVED);
-            } else {
-                throw new UnavailableItemException("Booking already approved");
+            if (bookingRepository.approveWaitingWithoutOverlap(bookingId, userId) == 0) {
+                throw new UnavailableItemException("Item is already booked for these dates");
             }
+            booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        return bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingSavedEvent.of(booking));
+        return booking;
     }
 
-    public List<Booking> getAllUserBookingsByState(Long userId, String state, Pageable page) {
-        BookingState bookingState;
-        try {
-            bookingState = BookingState.valueOf(state);
-        } catch (Exception e) {
-            throw new WrongStateException("Unknown state: " + state);
+    private void checkStatusChange(Long userId, Booking booking) {
+        if (!userId.equals(booking.getItem().getOwner().getId())) {
+            if (!userRepository.existsById(userId)) {
+                throw new UnknownIdException("Id not found");
+            }
+            throw new IllegalUserException("Wrong user id provided");
         }
-        if (!userRepository.existsById(userId)) {
-            throw new UnknownIdException("Id not found");
+        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+            throw new UnavailableItemException("Booking already approved");
         }
-        List<Booking> result = new ArrayList<>();
-        switch (bookingState) {
-            case ALL:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(userId)), page).getContent();
-                break;
-
-            case FUTURE:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(userId)).and(startAfterNow()),
-                        page).getContent();
-                break;
+        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+            throw new UnavailableItemException("Booking already " + booking.getStatus().name().toLowerCase());
+        }
+    }
 
-            case CURRENT:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(userId).and(startBeforeNow()
-                        .and(endAfterNow()))), page).getContent();
-                break;
+    public List<Booking> getAllUserBookingsByState(Long userId, String state, Pageable page) {
+        BookingState bookingState = parseState(state);
+        checkUserExists(userId);
+        return findAllByState(hasBookerId(userId), bookingState, page);
+    }
 
-            case PAST:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(userId).and(endBeforeNow())),
-                        page).getContent();
-                break;
+    public Slice<Booking> getAllUserBookingsByState(Long userId, String state, BookingCursor cursor, int size) {
+        BookingState bookingState = parseState(state);
+        checkUserExists(userId);
+        return findAllByStateAfterCursor(hasBookerId(userId), bookingState, cursor, size);
+    }
 
-            case WAITING:
-                result = bookingRepository.findAll(hasBookerId(userId).and(hasStatus(BookingStatus.WAITING)),
-                        page).getContent();
-                break;
+    public List<Booking> getAllOwnerBookingsByState(Long userId, String state, Pageable page) {
+        BookingState bookingState = parseState(state);
+        checkUserExists(userId);
+        return findAllByState(hasOwnerId(userId), bookingState, page);
+    }
 
-            case REJECTED:
-                result = bookingRepository.findAll(hasBookerId(userId).and(hasStatus(BookingStatus.REJECTED)),
-                        page).getContent();
-                break;
-        }
-        return result;
+    public Slice<Booking> getAllOwnerBookingsByState(Long userId, String state, BookingCursor cursor, int size) {
+        BookingState bookingState = parseState(state);
+        checkUserExists(userId);
+        return findAllByStateAfterCursor(hasOwnerId(userId), bookingState, cursor, size);
     }
 
-    public List<Booking> getAllOwnerBookingsByState(Long userId, String state, Pageable page) {
-        BookingState bookingState;
+    private BookingState parseState(String state) {
         try {
-            bookingState = BookingState.valueOf(state);
+            return BookingState.valueOf(state);
         } catch (Exception e) {
             throw new WrongStateException("Unknown state: " + state);
         }
+    }
+
+    private void checkUserExists(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new UnknownIdException("Id not found");
         }
-        List<Booking> result = new ArrayList<>();
-        switch (bookingState) {
-            case ALL:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(userId)), page).getContent();
-                break;
+    }
 
-            case FUTURE:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(userId)).and(startAfterNow()),
-                        page).getContent();
-                break;
+    private List<Booking> findAllByState(Specification<Booking> userSpec, BookingState state, Pageable page) {
+        Specification<Booking> spec = userSpec.and(hasState(state));
+        if (state != BookingState.WAITING && state != BookingState.REJECTED) {
+            spec = orderByStartDateDesc(spec);
+        }
+        return bookingRepository.findSlice(spec, page).getContent();
+    }
 
-            case CURRENT:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(userId).and(startBeforeNow()
-                        .and(endAfterNow()))), page).getContent();
-                break;
+    private Slice<Booking> findAllByStateAfterCursor(Specification<Booking> userSpec, BookingState state,
+                                                     BookingCursor cursor, int size) {
+        Specification<Booking> spec = orderByStartDateAndIdDesc(userSpec.and(hasState(state))
+                .and(startAndIdBefore(cursor)));
+        return bookingRepository.findSlice(spec, PageRequest.of(0, size));
+    }
 
+    private Specification<Booking> hasState(BookingState state) {
+        switch (state) {
+            case FUTURE:
+                return startAfterNow();
+            case CURRENT:
+                return startBeforeNow().and(endAfterNow());
             case PAST:
-                result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(userId).and(endBeforeNow())),
-                        page).getContent();
-                break;
-
+                return endBeforeNow();
             case WAITING:
-                result = bookingRepository.findAll(hasOwnerId(userId).and(hasStatus(BookingStatus.WAITING)),
-                        page).getContent();
-                break;
-
+                return hasStatus(BookingStatus.WAITING);
             case REJECTED:
-                result = bookingRepository.findAll(hasOwnerId(userId).and(hasStatus(BookingStatus.REJECTED)),
-                        page).getContent();
-                break;
+                return hasStatus(BookingStatus.REJECTED);
+            default:
+                return null;
         }
-        return result;
     }
 
     public Optional<Booking> getLastBooking(Long itemId) {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasItemId(itemId).and(startBeforeNow())));
-        if (!result.isEmpty()) {
-            return Optional.of(result.get(0));
-        }
-        return Optional.empty();
+        return bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(itemId,
+                Timestamp.from(Instant.now()));
     }
 
     public Optional<Booking> getNextBooking(Long itemId) {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateAsc(hasItemId(itemId).and(startAfterNow()
-                .and(hasStatus(BookingStatus.APPROVED)))));
-        if (!result.isEmpty()) {
-            return Optional.of(result.get(0));
+        return bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId,
+                Timestamp.from(Instant.now()), BookingStatus.APPROVED);
+    }
+
+    public Map<Long, Booking> getLastBookings(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return groupByItemId(bookingRepository.findLastBookingsByItemIds(itemIds,
+                Timestamp.from(Instant.now())));
+    }
+
+    public Map<Long, Booking> getNextBookings(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
         }
-        return Optional.empty();
+        return groupByItemId(bookingRepository.findNextBookingsByItemIds(itemIds,
+                Timestamp.from(Instant.now())));
+    }
+
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        Map<Long, Booking> result = new HashMap<>();
+        bookings.forEach(booking -> result.put(booking.getItem().getId(), booking));
+        return result;
     }
 }
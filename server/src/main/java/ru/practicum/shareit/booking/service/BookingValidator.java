@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.error.exception.BookingByOwnerException;
+import ru.practicum.shareit.error.exception.EndBeforeStartException;
+import ru.practicum.shareit.error.exception.UnavailableItemException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Objects;
+
+public class BookingValidator {
+    private BookingValidator() {
+    }
+
+    public static void validateNewBooking(Long bookerId, Booking booking, Item item) {
+        if (!item.getAvailable()) {
+            throw new UnavailableItemException("Item is not available");
+        }
+        if (booking.getStart() == null || booking.getEnd() == null || !booking.getStart().before(booking.getEnd())) {
+            throw new EndBeforeStartException("Incorrect end date provided");
+        }
+        if (Objects.equals(item.getOwner().getId(), bookerId)) {
+            throw new BookingByOwnerException("Booking by owner attempt");
+        }
+    }
+}
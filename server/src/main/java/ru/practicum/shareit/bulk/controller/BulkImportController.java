@@ -0,0 +1,34 @@
+package ru.practicum.shareit.bulk.controller;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.bulk.dto.BulkImportReport;
+import ru.practicum.shareit.bulk.service.BulkImportService;
+
+import java.io.InputStream;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(path = "/bulk")
+public class BulkImportController {
+    private final BulkImportService bulkImportService;
+
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportReport importUsers(InputStream body) {
+        return bulkImportService.importUsers(body);
+    }
+
+    @PostMapping(value = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportReport importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId, InputStream body) {
+        return bulkImportService.importItems(ownerId, body);
+    }
+
+    @PostMapping(value = "/bookings", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportReport importBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId, InputStream body) {
+        return bulkImportService.importBookings(bookerId, body);
+    }
+}
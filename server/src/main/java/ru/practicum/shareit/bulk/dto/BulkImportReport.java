@@ -0,0 +1,21 @@
+package ru.practicum.shareit.bulk.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkImportReport {
+    private long total;
+
+    private long imported;
+
+    private long failed;
+
+    private List<BulkImportError> errors = new ArrayList<>();
+}
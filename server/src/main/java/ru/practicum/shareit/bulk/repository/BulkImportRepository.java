@@ -0,0 +1,143 @@
+package ru.practicum.shareit.bulk.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.IdSequences;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+@Repository
+@AllArgsConstructor
+public class BulkImportRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList("select email from users where email in (:emails)",
+                new MapSqlParameterSource("emails", emails), String.class));
+    }
+
+    public boolean userExists(Long userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 from users where id = ?)",
+                Boolean.class, userId));
+    }
+
+    public Set<Long> findExistingRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList("select id from requests where id in (:ids)",
+                new MapSqlParameterSource("ids", requestIds), Long.class));
+    }
+
+    public Map<Long, Item> findItemsForUpdate(Collection<Long> itemIds) {
+        Map<Long, Item> items = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return items;
+        }
+        namedParameterJdbcTemplate.query("select id, owner, available from items where id in (:ids) " +
+                        "order by id for update",
+                new MapSqlParameterSource("ids", itemIds), (ResultSet rs) -> {
+                    Item item = new Item();
+                    item.setId(rs.getLong("id"));
+                    User owner = new User();
+                    owner.setId(rs.getLong("owner"));
+                    item.setOwner(owner);
+                    item.setAvailable(rs.getBoolean("available"));
+                    items.put(item.getId(), item);
+                });
+        return items;
+    }
+
+    public List<Booking> findApprovedBookings(Collection<Long> itemIds, Timestamp from, Timestamp to) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", itemIds)
+                .addValue("from", from)
+                .addValue("to", to);
+        return namedParameterJdbcTemplate.query("select item_id, start_date, end_date from bookings " +
+                "where status = 'APPROVED' and item_id in (:ids) and start_date < :to and end_date > :from",
+                parameters, (rs, rowNum) -> {
+                    Booking booking = new Booking();
+                    Item item = new Item();
+                    item.setId(rs.getLong("item_id"));
+                    booking.setItem(item);
+                    booking.setStart(rs.getTimestamp("start_date"));
+                    booking.setEnd(rs.getTimestamp("end_date"));
+                    return booking;
+                });
+    }
+
+    public void insertUsers(List<User> users) {
+        assignIds("users_id_seq", users, User::setId);
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users, users.size(),
+                (statement, user) -> {
+                    statement.setLong(1, user.getId());
+                    statement.setString(2, user.getName());
+                    statement.setString(3, user.getEmail());
+                });
+    }
+
+    public void insertItems(List<Item> items) {
+        assignIds("items_id_seq", items, Item::setId);
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, available, owner, request) " +
+                "values (?, ?, ?, ?, ?, ?)", items, items.size(), (statement, item) -> {
+                    statement.setLong(1, item.getId());
+                    statement.setString(2, item.getName());
+                    statement.setString(3, item.getDescription());
+                    statement.setBoolean(4, item.getAvailable());
+                    statement.setLong(5, item.getOwner().getId());
+                    if (item.getRequest() == null) {
+                        statement.setNull(6, Types.BIGINT);
+                    } else {
+                        statement.setLong(6, item.getRequest().getId());
+                    }
+                });
+    }
+
+    public void insertBookings(List<Booking> bookings) {
+        assignIds("bookings_id_seq", bookings, Booking::setId);
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", bookings, bookings.size(), (statement, booking) -> {
+                    statement.setLong(1, booking.getId());
+                    statement.setTimestamp(2, booking.getStart());
+                    statement.setTimestamp(3, booking.getEnd());
+                    statement.setLong(4, booking.getItem().getId());
+                    statement.setLong(5, booking.getBooker().getId());
+                    statement.setString(6, booking.getStatus().name());
+                });
+    }
+
+    private <T> void assignIds(String sequence, List<T> rows, BiConsumer<T, Long> idSetter) {
+        long next = 0;
+        long last = -1;
+        for (T row : rows) {
+            if (next > last) {
+                last = jdbcTemplate.queryForObject("select nextval('" + sequence + "')", Long.class);
+                next = last - IdSequences.ALLOCATION_SIZE + 1;
+            }
+            idSetter.accept(row, next++);
+        }
+    }
+}
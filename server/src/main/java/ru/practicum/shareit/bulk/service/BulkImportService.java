@@ -0,0 +1,304 @@
+package ru.practicum.shareit.bulk.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSavedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingValidator;
+import ru.practicum.shareit.bulk.dto.BulkImportError;
+import ru.practicum.shareit.bulk.dto.BulkImportReport;
+import ru.practicum.shareit.bulk.repository.BulkImportRepository;
+import ru.practicum.shareit.error.exception.BookingByOwnerException;
+import ru.practicum.shareit.error.exception.DuplicatedEmailException;
+import ru.practicum.shareit.error.exception.EmptyEmailException;
+import ru.practicum.shareit.error.exception.EmptyNameException;
+import ru.practicum.shareit.error.exception.EndBeforeStartException;
+import ru.practicum.shareit.error.exception.UnavailableItemException;
+import ru.practicum.shareit.error.exception.UnknownIdException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.service.ItemValidator;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BulkImportService {
+    private final BulkImportRepository bulkImportRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final UserMapper userMapper;
+
+    private final ItemMapper itemMapper;
+
+    private final BookingMapper bookingMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int chunkSize;
+
+    private final int maxErrors;
+
+    public BulkImportService(BulkImportRepository bulkImportRepository,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             UserMapper userMapper,
+                             ItemMapper itemMapper,
+                             BookingMapper bookingMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${shareit.bulk.chunk-size}") int chunkSize,
+                             @Value("${shareit.bulk.max-errors}") int maxErrors) {
+        this.bulkImportRepository = bulkImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.userMapper = userMapper;
+        this.itemMapper = itemMapper;
+        this.bookingMapper = bookingMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public BulkImportReport importUsers(InputStream input) {
+        return importRows(input, UserDto.class, this::saveUsers);
+    }
+
+    public BulkImportReport importItems(Long ownerId, InputStream input) {
+        checkUserExists(ownerId);
+        return importRows(input, ItemDto.class, chunk -> saveItems(ownerId, chunk));
+    }
+
+    public BulkImportReport importBookings(Long bookerId, InputStream input) {
+        checkUserExists(bookerId);
+        return importRows(input, BookingDto.class, chunk -> saveBookings(bookerId, chunk));
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!bulkImportRepository.userExists(userId)) {
+            throw new UnknownIdException("Id not found");
+        }
+    }
+
+    private <T> BulkImportReport importRows(InputStream input, Class<T> type,
+                                            Function<List<Row<T>>, List<BulkImportError>> writer) {
+        BulkImportReport report = new BulkImportReport();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                report.setTotal(report.getTotal() + 1);
+                try {
+                    chunk.add(new Row<>(lineNumber, objectMapper.readValue(line, type)));
+                } catch (JsonProcessingException e) {
+                    addErrors(report, new BulkImportError(lineNumber, "Malformed row: " + e.getOriginalMessage()));
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(report, chunk, writer);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(report, chunk, writer);
+        }
+        log.info("Bulk import of {} rows finished: {} imported, {} failed", report.getTotal(), report.getImported(),
+                report.getFailed());
+        return report;
+    }
+
+    private <T> void writeChunk(BulkImportReport report, List<Row<T>> chunk,
+                                Function<List<Row<T>>, List<BulkImportError>> writer) {
+        List<BulkImportError> errors;
+        try {
+            errors = transactionTemplate.execute(status -> writer.apply(chunk));
+        } catch (DataAccessException e) {
+            log.warn("Bulk import chunk rejected", e);
+            String message = "Chunk rejected: " + e.getMostSpecificCause().getMessage();
+            errors = chunk.stream()
+                    .map(row -> new BulkImportError(row.line, message))
+                    .collect(Collectors.toList());
+        }
+        report.setImported(report.getImported() + chunk.size() - errors.size());
+        errors.forEach(error -> addErrors(report, error));
+    }
+
+    private void addErrors(BulkImportReport report, BulkImportError error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(error);
+        }
+    }
+
+    private List<BulkImportError> saveUsers(List<Row<UserDto>> chunk) {
+        List<BulkImportError> errors = new ArrayList<>();
+        Set<String> registered = bulkImportRepository.findExistingEmails(chunk.stream()
+                .map(row -> row.value.getEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<User> users = new ArrayList<>();
+        for (Row<UserDto> row : chunk) {
+            User user = userMapper.toUser(row.value);
+            String rejection = rejection(() -> UserValidator.validateNewUser(user, email -> !registered.add(email)));
+            if (rejection != null) {
+                errors.add(new BulkImportError(row.line, rejection));
+            } else {
+                users.add(user);
+            }
+        }
+        bulkImportRepository.insertUsers(users);
+        return errors;
+    }
+
+    private List<BulkImportError> saveItems(Long ownerId, List<Row<ItemDto>> chunk) {
+        List<BulkImportError> errors = new ArrayList<>();
+        Set<Long> requestIds = bulkImportRepository.findExistingRequestIds(chunk.stream()
+                .map(row -> row.value.getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        User owner = new User();
+        owner.setId(ownerId);
+        List<Item> items = new ArrayList<>();
+        for (Row<ItemDto> row : chunk) {
+            ItemDto dto = row.value;
+            Item item = itemMapper.toItem(dto);
+            String rejection = rejection(() -> ItemValidator.validateNewItem(item));
+            if (rejection != null) {
+                errors.add(new BulkImportError(row.line, rejection));
+            } else if (dto.getRequestId() != null && !requestIds.contains(dto.getRequestId())) {
+                errors.add(new BulkImportError(row.line, "Id not found"));
+            } else {
+                item.setOwner(owner);
+                if (dto.getRequestId() != null) {
+                    ItemRequest request = new ItemRequest();
+                    request.setId(dto.getRequestId());
+                    item.setRequest(request);
+                }
+                items.add(item);
+            }
+        }
+        bulkImportRepository.insertItems(items);
+        items.forEach(item -> eventPublisher.publishEvent(new ItemSavedEvent(item)));
+        return errors;
+    }
+
+    private List<BulkImportError> saveBookings(Long bookerId, List<Row<BookingDto>> chunk) {
+        List<BulkImportError> errors = new ArrayList<>();
+        Map<Long, Item> items = bulkImportRepository.findItemsForUpdate(chunk.stream()
+                .map(row -> row.value.getItemId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<Booking> approved = findApprovedBookings(chunk);
+        List<Booking> bookings = new ArrayList<>();
+        for (Row<BookingDto> row : chunk) {
+            BookingDto dto = row.value;
+            dto.setBookerId(bookerId);
+            Item item = dto.getItemId() == null ? null : items.get(dto.getItemId());
+            if (item == null) {
+                errors.add(new BulkImportError(row.line, "Id not found"));
+                continue;
+            }
+            Booking booking = bookingMapper.bookingDtoToBooking(dto);
+            String rejection = rejection(() -> BookingValidator.validateNewBooking(bookerId, booking, item));
+            booking.setItem(item);
+            if (rejection != null) {
+                errors.add(new BulkImportError(row.line, rejection));
+            } else if (overlaps(booking, approved)) {
+                errors.add(new BulkImportError(row.line, "Item is already booked for these dates"));
+            } else {
+                booking.setStatus(BookingStatus.WAITING);
+                bookings.add(booking);
+            }
+        }
+        bulkImportRepository.insertBookings(bookings);
+        bookings.forEach(booking -> eventPublisher.publishEvent(BookingSavedEvent.of(booking)));
+        return errors;
+    }
+
+    private List<Booking> findApprovedBookings(List<Row<BookingDto>> chunk) {
+        Set<Long> itemIds = new HashSet<>();
+        Timestamp from = null;
+        Timestamp to = null;
+        for (Row<BookingDto> row : chunk) {
+            BookingDto dto = row.value;
+            if (dto.getItemId() == null || dto.getStart() == null || dto.getEnd() == null) {
+                continue;
+            }
+            itemIds.add(dto.getItemId());
+            Timestamp start = Timestamp.valueOf(dto.getStart());
+            Timestamp end = Timestamp.valueOf(dto.getEnd());
+            from = from == null || start.before(from) ? start : from;
+            to = to == null || end.after(to) ? end : to;
+        }
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return bulkImportRepository.findApprovedBookings(itemIds, from, to);
+    }
+
+    private static boolean overlaps(Booking booking, List<Booking> approved) {
+        return approved.stream().anyMatch(other -> other.getItem().getId().equals(booking.getItem().getId())
+                && other.getStart().before(booking.getEnd()) && other.getEnd().after(booking.getStart()));
+    }
+
+    private static String rejection(Runnable validation) {
+        try {
+            validation.run();
+            return null;
+        } catch (EmptyNameException | EmptyEmailException | DuplicatedEmailException | UnavailableItemException
+                 | EndBeforeStartException | BookingByOwnerException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static class Row<T> {
+        private final long line;
+
+        private final T value;
+
+        Row(long line, T value) {
+            this.line = line;
+            this.value = value;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import ru.practicum.shareit.error.exception.EndBeforeStartException;
 import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnavailableItemException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
+import ru.practicum.shareit.error.exception.WrongCursorException;
 import ru.practicum.shareit.error.exception.WrongStateException;
 import ru.practicum.shareit.error.model.ErrorResponse;
 
@@ -21,7 +22,8 @@ import ru.practicum.shareit.error.model.ErrorResponse;
 public class ErrorHandler {
 
     @ExceptionHandler({EmptyNameException.class, UnavailableItemException.class,
-            EndBeforeStartException.class, WrongStateException.class, EmptyEmailException.class, Throwable.class})
+            EndBeforeStartException.class, WrongStateException.class, EmptyEmailException.class,
+            WrongCursorException.class, Throwable.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleThrowable(final Throwable e) {
         log.warn(e.getMessage(), e);
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.error.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Unknown cursor")
+public class WrongCursorException extends RuntimeException {
+    public WrongCursorException(String s) {
+        super(s);
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,12 +20,15 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentCursor;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -72,22 +77,54 @@ public class ItemController {
                                                      @RequestParam(value = "from") int from,
                                                      @RequestParam(value = "size") int size) {
         List<Item> items =  itemService.getItemsByOwnerId(id, PageRequest.of(from / size, size));
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, Booking> lastBookings = bookingService.getLastBookings(itemIds);
+        Map<Long, Booking> nextBookings = bookingService.getNextBookings(itemIds);
         return items.stream()
                 .map(itemMapper::toItemDtoWithBookings)
-                .map(this::setBookings)
+                .map(itemDto -> setBookings(itemDto, lastBookings.get(itemDto.getId()),
+                        nextBookings.get(itemDto.getId())))
                 .collect(Collectors.toList());
     }
 
     @GetMapping(value = "/search")
     public List<ItemDto> searchItemByKeyword(@RequestParam(value = "text") String text,
                                              @RequestParam(value = "from") int from,
-                                             @RequestParam(value = "size") int size) {
-        List<Item> items =  itemService.findItemsByKeyword(text, PageRequest.of(from / size, size));
+                                             @RequestParam(value = "size") int size,
+                                             @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy) {
+        PageRequest pageRequest = PageRequest.of(from / size, size);
+        List<Item> items = fuzzy ? itemService.findItemsBySimilarity(text, pageRequest)
+                : itemService.findItemsByKeyword(text, pageRequest);
         return items.stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(value = "/suggest")
+    public List<String> suggestItemNames(@RequestParam(value = "prefix") String prefix,
+                                         @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemService.suggestItemNames(prefix, size);
+    }
+
+    @GetMapping(value = "/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                                        @RequestParam(value = "cursor", required = false)
+                                                        String cursor) {
+        Slice<Comment> comments = itemService.getComments(itemId, CommentCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<Comment> content = comments.getContent();
+        if (comments.hasNext()) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER,
+                    CommentCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return response.body(content.stream()
+                .map(itemMapper::toCommentDto)
+                .collect(Collectors.toList()));
+    }
+
     @PostMapping(value = "/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") Long id,
                                  @PathVariable Long itemId, @RequestBody CommentDto comment) {
@@ -95,14 +132,19 @@ public class ItemController {
     }
 
     public ItemDtoWithBookings setBookings(ItemDtoWithBookings itemDtoWithBookings) {
-            Optional<Booking> lastBooking = bookingService.getLastBooking(itemDtoWithBookings.getId());
-            Optional<Booking> nextBooking = bookingService.getNextBooking(itemDtoWithBookings.getId());
-            if (lastBooking.isPresent()) {
-                itemDtoWithBookings.setLastBooking(bookingMapper.toBookingDto(lastBooking.get()));
-            }
-            if (nextBooking.isPresent()) {
-                itemDtoWithBookings.setNextBooking(bookingMapper.toBookingDto(nextBooking.get()));
-            }
-            return itemDtoWithBookings;
+        return setBookings(itemDtoWithBookings,
+                bookingService.getLastBooking(itemDtoWithBookings.getId()).orElse(null),
+                bookingService.getNextBooking(itemDtoWithBookings.getId()).orElse(null));
+    }
+
+    private ItemDtoWithBookings setBookings(ItemDtoWithBookings itemDtoWithBookings, Booking lastBooking,
+                                            Booking nextBooking) {
+        if (lastBooking != null) {
+            itemDtoWithBookings.setLastBooking(bookingMapper.toBookingDto(lastBooking));
+        }
+        if (nextBooking != null) {
+            itemDtoWithBookings.setNextBooking(bookingMapper.toBookingDto(nextBooking));
+        }
+        return itemDtoWithBookings;
     }
 }
@@ -23,4 +23,5 @@ public class ItemDtoWithBookings {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private List<CommentDto> comments = new ArrayList<>();
+    private long commentCount;
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
@@ -40,6 +43,15 @@ public abstract class ItemMapper {
 
     public abstract Item toItem(ItemDto item);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "request", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "ownerRequest", ignore = true)
+    public abstract void updateItem(ItemDto item, @MappingTarget Item target);
+
     public ItemDtoWithBookings toItemDtoWithBookings(Item item) {
         ItemDtoWithBookings itemDtoWithBookings = new ItemDtoWithBookings(
                 item.getId(),
@@ -50,7 +62,8 @@ public abstract class ItemMapper {
                 null,
                 null,
                 null,
-                new ArrayList<>());
+                new ArrayList<>(),
+                item.getCommentCount());
         if (item.getComments() != null) {
             itemDtoWithBookings.setComments(item.getComments().stream()
                     .map(this::toCommentDto)
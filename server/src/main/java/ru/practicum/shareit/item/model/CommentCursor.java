@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.pagination.CursorCodec;
+
+@Getter
+@AllArgsConstructor
+public class CommentCursor {
+    private final Long id;
+
+    public static CommentCursor of(Comment comment) {
+        return new CommentCursor(comment.getId());
+    }
+
+    public static CommentCursor decode(String value) {
+        return CursorCodec.decodeId(value, CommentCursor::new);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(id);
+    }
+}
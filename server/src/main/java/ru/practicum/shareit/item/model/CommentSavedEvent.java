@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentSavedEvent {
+    private final Comment comment;
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+@Getter
+@AllArgsConstructor
+public class ItemIndexEntry {
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final Boolean available;
+
+    private final Long ownerId;
+
+    private final Long requestId;
+
+    public static ItemIndexEntry of(Item item) {
+        return new ItemIndexEntry(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner() == null ? null : item.getOwner().getId(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+
+    public Item toItem() {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        if (ownerId != null) {
+            User owner = new User();
+            owner.setId(ownerId);
+            item.setOwner(owner);
+        }
+        if (requestId != null) {
+            ItemRequest request = new ItemRequest();
+            request.setId(requestId);
+            item.setRequest(request);
+        }
+        return item;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Objects;
+
+@Getter
+@AllArgsConstructor
+public class ItemSavedEvent {
+    private final Item item;
+
+    private final Item previous;
+
+    public ItemSavedEvent(Item item) {
+        this(item, null);
+    }
+
+    public boolean isSearchableChange() {
+        return previous == null
+                || !Objects.equals(previous.getName(), item.getName())
+                || !Objects.equals(previous.getDescription(), item.getDescription())
+                || !Objects.equals(previous.getAvailable(), item.getAvailable());
+    }
+}
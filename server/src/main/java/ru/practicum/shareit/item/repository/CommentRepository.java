@@ -1,12 +1,25 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemCommentCount;
 
 import javax.persistence.Table;
+import java.util.Collection;
 import java.util.List;
 
 @Table(name = "comments")
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findCommentsByItemId(Long item);
+    @Query("select c from Comment c join fetch c.author where c.item.id = :itemId and c.id > :after order by c.id")
+    Slice<Comment> findCommentsByItemId(@Param("itemId") Long itemId, @Param("after") Long after, Pageable pageable);
+
+    long countByItemId(Long itemId);
+
+    @Query("select c.item.id as itemId, count(c) as count from Comment c where c.item.id in :itemIds " +
+            "group by c.item.id")
+    List<ItemCommentCount> countByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
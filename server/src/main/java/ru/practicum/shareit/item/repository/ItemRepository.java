@@ -1,28 +1,48 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Table(name = "items")
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Item save(Item item);
 
+    @EntityGraph("Item.withOwnerAndRequest")
     Optional<Item> findById(Long id);
 
     List<Item> findAllByOwnerIdOrderById(Long id, Pageable pageable);
 
     List<Item> findAllByRequestId(Long id, Pageable pageable);
 
+    List<Item> findAllByRequestIdInOrderById(Collection<Long> requestIds);
+
+    List<Item> findAllByIdInAndAvailableTrue(Collection<Long> ids);
+
     boolean existsById(Long id);
 
-    @Query(value = "select * from items where lower(name) like concat('%',lower(:keyword),'%') or lower(description) " +
-            "like concat('%',lower(:keyword),'%') and available=true", nativeQuery = true)
-    List<Item> findItemsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.practicum.shareit.item.model.ItemIndexEntry(i.id, i.name, i.description, i.available, " +
+            "o.id, r.id) from Item i left join i.owner o left join i.request r")
+    Stream<ItemIndexEntry> streamIndexEntries();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
 }
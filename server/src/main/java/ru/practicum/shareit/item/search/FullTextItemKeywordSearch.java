@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(name = "shareit.items.search.keyword", havingValue = "full_text")
+public class FullTextItemKeywordSearch implements ItemKeywordSearch {
+    private static final String FULL_TEXT_QUERY = "select i.* from items i, to_tsquery('simple', :query) q " +
+            "where i.available = true and i.search_vector @@ q " +
+            "order by ts_rank(i.search_vector, q) desc, i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String keyword, Pageable pageable) {
+        String tsQuery = Tokenizer.tokenize(keyword).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = entityManager.createNativeQuery(FULL_TEXT_QUERY, Item.class).setParameter("query", tsQuery);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.items.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    private final ItemSubstringIndex substringIndex = new ItemSubstringIndex();
+
+    private final ItemSimilaritySearch itemSimilaritySearch;
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository, ItemSimilaritySearch itemSimilaritySearch) {
+        this.itemRepository = itemRepository;
+        this.itemSimilaritySearch = itemSimilaritySearch;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        substringIndex.clear();
+        try (Stream<ItemIndexEntry> entries = itemRepository.streamIndexEntries()) {
+            entries.forEach(this::index);
+        }
+        log.info("Indexed {} items for search", substringIndex.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(ItemIndexEntry.of(event.getItem()));
+    }
+
+    @Override
+    public List<Item> search(String keyword, Pageable pageable) {
+        if (keyword.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        return substringIndex.search(keyword, offset, limit);
+    }
+
+    @Override
+    public List<Item> searchSimilar(String keyword, Pageable pageable) {
+        return itemSimilaritySearch.search(keyword, pageable);
+    }
+
+    private void index(ItemIndexEntry entry) {
+        if (Boolean.TRUE.equals(entry.getAvailable())) {
+            substringIndex.put(entry);
+        } else {
+            substringIndex.remove(entry.getId());
+        }
+    }
+}
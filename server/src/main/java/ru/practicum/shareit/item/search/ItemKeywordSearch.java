@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemKeywordSearch {
+    List<Item> search(String keyword, Pageable pageable);
+}
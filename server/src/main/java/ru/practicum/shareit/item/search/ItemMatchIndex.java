@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.requests.matching.enabled", havingValue = "true")
+public class ItemMatchIndex {
+    private final ItemRepository itemRepository;
+
+    private final ItemTokenIndex tokenIndex = new ItemTokenIndex();
+
+    public ItemMatchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        tokenIndex.clear();
+        try (Stream<ItemIndexEntry> entries = itemRepository.streamIndexEntries()) {
+            entries.filter(ItemMatchIndex::isMatchable).forEach(tokenIndex::put);
+        }
+        log.info("Indexed {} items for request matching", tokenIndex.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        ItemIndexEntry entry = ItemIndexEntry.of(event.getItem());
+        if (isMatchable(entry)) {
+            tokenIndex.put(entry);
+        } else {
+            tokenIndex.remove(entry.getId());
+        }
+    }
+
+    public List<Item> match(String text, Long excludedOwnerId, int limit) {
+        return tokenIndex.countMatchingTokens(Tokenizer.tokenize(text)).entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(score -> tokenIndex.get(score.getKey()))
+                .filter(item -> item != null && !Objects.equals(item.getOwner().getId(), excludedOwnerId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isMatchable(ItemIndexEntry entry) {
+        return Boolean.TRUE.equals(entry.getAvailable()) && entry.getOwnerId() != null;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.items.suggest.enabled", havingValue = "true")
+public class ItemNameSuggester {
+    private final ItemRepository itemRepository;
+
+    private final ItemNameTrie trie;
+
+    private final Map<Long, String> itemKeys = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemNameSuggester(ItemRepository itemRepository,
+                             @Value("${shareit.items.suggest.top-k}") int topK) {
+        this.itemRepository = itemRepository;
+        this.trie = new ItemNameTrie(topK);
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            itemKeys.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try (Stream<ItemIndexEntry> entries = itemRepository.streamIndexEntries()) {
+            entries.forEach(this::index);
+        }
+        log.info("Indexed {} item names for suggestions", indexedCount());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(ItemIndexEntry.of(event.getItem()));
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            return trie.suggest(key, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexedCount() {
+        lock.readLock().lock();
+        try {
+            return itemKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(ItemIndexEntry entry) {
+        lock.writeLock().lock();
+        try {
+            put(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(ItemIndexEntry entry) {
+        String previousKey = itemKeys.remove(entry.getId());
+        if (previousKey != null) {
+            trie.remove(previousKey);
+        }
+        String name = entry.getName();
+        if (Boolean.TRUE.equals(entry.getAvailable()) && name != null && !name.trim().isEmpty()) {
+            String key = normalize(name);
+            trie.add(key, name.trim());
+            itemKeys.put(entry.getId(), key);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
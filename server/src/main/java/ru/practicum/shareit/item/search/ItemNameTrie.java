@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class ItemNameTrie {
+    private static final char[] NO_KEYS = new char[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt((Suggestion s) -> -s.count)
+            .thenComparing(s -> s.name);
+
+    private final int topK;
+
+    private Node root = new Node("");
+
+    public ItemNameTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public void add(String key, String name) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                node.addChild(leaf);
+                path.add(leaf);
+                node = leaf;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        if (node.count++ == 0) {
+            node.name = name;
+        }
+        updateSuggestions(path);
+    }
+
+    public void remove(String key) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        if (--node.count == 0) {
+            node.name = null;
+            prune(path);
+        }
+        updateSuggestions(path);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.indexOf(prefix.charAt(i));
+            if (index < 0) {
+                return Collections.emptyList();
+            }
+            Node child = node.children[index];
+            int length = Math.min(child.label.length(), prefix.length() - i);
+            if (!child.label.regionMatches(0, prefix, i, length)) {
+                return Collections.emptyList();
+            }
+            node = child;
+            i += length;
+        }
+        List<String> names = new ArrayList<>();
+        for (int j = 0; j < node.suggestions.length && j < limit; j++) {
+            names.add(node.suggestions[j].name);
+        }
+        return names;
+    }
+
+    public void clear() {
+        root = new Node("");
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, i)) {
+                return null;
+            }
+            path.add(node);
+            i += node.label.length();
+        }
+        return node.count > 0 ? path : null;
+    }
+
+    private void prune(List<Node> path) {
+        Node node = path.get(path.size() - 1);
+        if (node == root || node.keys.length > 1) {
+            return;
+        }
+        Node parent = path.get(path.size() - 2);
+        if (node.keys.length == 1) {
+            Node child = node.children[0];
+            child.label = node.label + child.label;
+            parent.children[parent.indexOf(node.label.charAt(0))] = child;
+            path.set(path.size() - 1, child);
+            return;
+        }
+        parent.removeChild(node.label.charAt(0));
+        path.remove(path.size() - 1);
+        if (parent != root && parent.count == 0 && parent.keys.length == 1) {
+            Node child = parent.children[0];
+            child.label = parent.label + child.label;
+            Node grandParent = path.get(path.size() - 2);
+            grandParent.children[grandParent.indexOf(parent.label.charAt(0))] = child;
+            path.set(path.size() - 1, child);
+        }
+    }
+
+    private void updateSuggestions(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Suggestion> candidates = new ArrayList<>();
+            if (node.count > 0) {
+                candidates.add(new Suggestion(node.name, node.count));
+            }
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.suggestions));
+            }
+            candidates.sort(RANKING);
+            node.suggestions = candidates.subList(0, Math.min(topK, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int length = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private String label;
+
+        private char[] keys = NO_KEYS;
+
+        private Node[] children = NO_CHILDREN;
+
+        private Suggestion[] suggestions = NO_SUGGESTIONS;
+
+        private String name;
+
+        private int count;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int indexOf(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? index : -1;
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(keys, child.label.charAt(0)) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = child.label.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void removeChild(char key) {
+            int index = indexOf(key);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+
+    private static class Suggestion {
+        private final String name;
+
+        private final int count;
+
+        Suggestion(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Service
+public class ItemSearchCache {
+    private final int maxEntries;
+
+    private final Map<Key, List<Item>> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    private final Counter invalidations;
+
+    private long generation;
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.items.search.cache.max-entries}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, List<Item>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Item>> eldest) {
+                if (size() > ItemSearchCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("items.search.cache", "result", "hit");
+        this.misses = meterRegistry.counter("items.search.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("items.search.cache.evictions", "cause", "size");
+        this.invalidations = meterRegistry.counter("items.search.cache.evictions", "cause", "invalidation");
+        meterRegistry.gauge("items.search.cache.size", this, ItemSearchCache::size);
+    }
+
+    public List<Item> get(String keyword, Pageable pageable, Supplier<List<Item>> loader) {
+        Key key = new Key(normalize(keyword), pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        long loadGeneration;
+        synchronized (this) {
+            List<Item> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        List<Item> result = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        if (!event.isSearchableChange()) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                String keyword = iterator.next().keyword;
+                if (mayMatch(keyword, event.getItem()) || mayMatch(keyword, event.getPrevious())) {
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static boolean mayMatch(String keyword, Item item) {
+        if (item == null || !Boolean.TRUE.equals(item.getAvailable())) {
+            return false;
+        }
+        String text = normalize(item.getName() + " " + item.getDescription());
+        return Tokenizer.tokenize(keyword).stream().allMatch(text::contains);
+    }
+
+    private static String normalize(String keyword) {
+        return keyword.toLowerCase(Locale.ROOT);
+    }
+
+    @EqualsAndHashCode
+    private static class Key {
+        private final String keyword;
+
+        private final long offset;
+
+        private final int size;
+
+        Key(String keyword, long offset, int size) {
+            this.keyword = keyword;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String keyword, Pageable pageable);
+
+    List<Item> searchSimilar(String keyword, Pageable pageable);
+}
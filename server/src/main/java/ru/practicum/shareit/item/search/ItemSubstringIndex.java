@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemSubstringIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final NavigableMap<Long, ItemIndexEntry> entries = new TreeMap<>();
+
+    private final Map<Long, Set<String>> itemGrams = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(ItemIndexEntry entry) {
+        Set<String> grams = grams(entry.getName());
+        grams.addAll(grams(entry.getDescription()));
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.getId());
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(entry.getId());
+            }
+            entries.put(entry.getId(), entry);
+            itemGrams.put(entry.getId(), grams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            itemGrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Item> search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Item> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long id : candidates(query)) {
+                ItemIndexEntry entry = entries.get(id);
+                if (!contains(entry.getName(), query) && !contains(entry.getDescription(), query)) {
+                    continue;
+                }
+                if (offset > 0) {
+                    offset--;
+                    continue;
+                }
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(entry.toItem());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private long[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return entries.keySet().stream().mapToLong(Long::longValue).toArray();
+        }
+        long[] matches = null;
+        for (String gram : grams(query)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return new long[0];
+            }
+            matches = matches == null ? postingList.toArray() : PostingList.intersect(matches, postingList.toArray());
+            if (matches.length == 0) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private void removeLocked(long itemId) {
+        Set<String> grams = itemGrams.remove(itemId);
+        if (grams == null) {
+            return;
+        }
+        for (String gram : grams) {
+            PostingList postingList = postings.get(gram);
+            postingList.remove(itemId);
+            if (postingList.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        entries.remove(itemId);
+    }
+
+    private static boolean contains(String text, String query) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
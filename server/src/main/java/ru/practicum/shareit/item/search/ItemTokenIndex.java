@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemTokenIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, Item> items = new HashMap<>();
+
+    private final Map<Long, List<String>> itemTokens = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(ItemIndexEntry entry) {
+        lock.writeLock().lock();
+        try {
+            putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            itemTokens.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Item get(long itemId) {
+        lock.readLock().lock();
+        try {
+            Item item = items.get(itemId);
+            return item == null ? null : ItemIndexEntry.of(item).toItem();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Map<Long, Integer> countMatchingTokens(List<String> tokens) {
+        Map<Long, Integer> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                PostingList postingList = postings.get(token);
+                if (postingList != null) {
+                    for (long id : postingList.toArray()) {
+                        counts.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    private void putLocked(ItemIndexEntry entry) {
+        removeLocked(entry.getId());
+        List<String> tokens = new ArrayList<>(Tokenizer.tokenize(entry.getName()));
+        Tokenizer.tokenize(entry.getDescription()).stream()
+                .filter(token -> !tokens.contains(token))
+                .forEach(tokens::add);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(entry.getId());
+        }
+        items.put(entry.getId(), entry.toItem());
+        itemTokens.put(entry.getId(), tokens);
+    }
+
+    private void removeLocked(long itemId) {
+        for (String token : itemTokens.getOrDefault(itemId, Collections.emptyList())) {
+            PostingList postingList = postings.get(token);
+            postingList.remove(itemId);
+            if (postingList.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+        items.remove(itemId);
+        itemTokens.remove(itemId);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@ConditionalOnProperty(name = "shareit.items.search.keyword", havingValue = "like", matchIfMissing = true)
+public class LikeItemKeywordSearch implements ItemKeywordSearch {
+    private static final String LIKE_QUERY = "select * from items where available = true " +
+            "and (lower(name) like concat('%', :query, '%') or lower(description) like concat('%', :query, '%')) " +
+            "order by id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String keyword, Pageable pageable) {
+        Query query = entityManager.createNativeQuery(LIKE_QUERY, Item.class)
+                .setParameter("query", keyword.toLowerCase(Locale.ROOT));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@ConditionalOnProperty(name = "shareit.items.search.similarity", havingValue = "pg_trgm")
+public class PgTrgmItemSimilaritySearch implements ItemSimilaritySearch {
+    private static final String SIMILARITY_QUERY = "select i.* from items i where i.available = true " +
+            "and (lower(i.name) %> :query or lower(i.description) %> :query) " +
+            "order by greatest(word_similarity(:query, lower(i.name)), " +
+            "word_similarity(:query, lower(i.description))) desc, i.id";
+
+    private static final String SIMILARITY_THRESHOLD_QUERY =
+            "select set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String keyword, Pageable pageable) {
+        entityManager.createNativeQuery(SIMILARITY_THRESHOLD_QUERY)
+                .setParameter("threshold", String.valueOf(TrigramIndex.SIMILARITY_THRESHOLD))
+                .getSingleResult();
+        Query query = entityManager.createNativeQuery(SIMILARITY_QUERY, Item.class)
+                .setParameter("query", keyword.toLowerCase(Locale.ROOT));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+    private final ItemKeywordSearch itemKeywordSearch;
+
+    private final ItemSimilaritySearch itemSimilaritySearch;
+
+    @Override
+    public List<Item> search(String keyword, Pageable pageable) {
+        return itemKeywordSearch.search(keyword, pageable);
+    }
+
+    @Override
+    public List<Item> searchSimilar(String keyword, Pageable pageable) {
+        return itemSimilaritySearch.search(keyword, pageable);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+public class TrigramIndex {
+    public static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, Set<String>> itemTrigrams = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String... texts) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String text : texts) {
+            trigrams.addAll(trigrams(text));
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+            }
+            itemTrigrams.put(id, trigrams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            itemTrigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return itemTrigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> hits = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String trigram : queryTrigrams) {
+                PostingList postingList = postings.get(trigram);
+                if (postingList != null) {
+                    for (long id : postingList.toArray()) {
+                        hits.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        int minHits = (int) Math.ceil(queryTrigrams.size() * SIMILARITY_THRESHOLD);
+        List<Map.Entry<Long, Integer>> matches = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : hits.entrySet()) {
+            if (entry.getValue() >= minHits) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return matches.stream()
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String token : Tokenizer.tokenize(text)) {
+            String padded = "  " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void removeLocked(long id) {
+        Set<String> trigrams = itemTrigrams.remove(id);
+        if (trigrams == null) {
+            return;
+        }
+        for (String trigram : trigrams) {
+            PostingList postingList = postings.get(trigram);
+            postingList.remove(id);
+            if (postingList.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+}
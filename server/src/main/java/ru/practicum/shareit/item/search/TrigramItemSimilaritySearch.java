@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.items.search.similarity", havingValue = "memory", matchIfMissing = true)
+public class TrigramItemSimilaritySearch implements ItemSimilaritySearch {
+    private final ItemRepository itemRepository;
+
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+
+    public TrigramItemSimilaritySearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        trigramIndex.clear();
+        try (Stream<ItemIndexEntry> entries = itemRepository.streamIndexEntries()) {
+            entries.forEach(this::index);
+        }
+        log.info("Indexed {} items for similarity search", trigramIndex.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(ItemIndexEntry.of(event.getItem()));
+    }
+
+    @Override
+    public List<Item> search(String keyword, Pageable pageable) {
+        List<Long> ids = trigramIndex.search(keyword);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        int chunkSize = (int) Math.max(1, Math.min(ids.size(), offset + limit));
+        List<Item> result = new ArrayList<>();
+        for (int from = 0; from < ids.size() && result.size() < limit; from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Long, Item> available = itemRepository.findAllByIdInAndAvailableTrue(chunk).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            for (Long id : chunk) {
+                Item item = available.get(id);
+                if (item == null) {
+                    continue;
+                }
+                if (offset > 0) {
+                    offset--;
+                    continue;
+                }
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private void index(ItemIndexEntry entry) {
+        if (Boolean.TRUE.equals(entry.getAvailable())) {
+            trigramIndex.put(entry.getId(), entry.getName(), entry.getDescription());
+        } else {
+            trigramIndex.remove(entry.getId());
+        }
+    }
+}
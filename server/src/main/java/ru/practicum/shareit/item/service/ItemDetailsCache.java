@@ -0,0 +1,176 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class ItemDetailsCache {
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<Long, Entry> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    private final Counter expirations;
+
+    private final Counter invalidations;
+
+    private long generation;
+
+    @Autowired
+    public ItemDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${shareit.items.details.cache.max-entries}") int maxEntries,
+                            @Value("${shareit.items.details.cache.ttl-seconds}") long ttlSeconds) {
+        this(meterRegistry, maxEntries, ttlSeconds, System::nanoTime);
+    }
+
+    public ItemDetailsCache(MeterRegistry meterRegistry, int maxEntries, long ttlSeconds, LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > ItemDetailsCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("items.details.cache", "result", "hit");
+        this.misses = meterRegistry.counter("items.details.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("items.details.cache.evictions", "cause", "size");
+        this.expirations = meterRegistry.counter("items.details.cache.evictions", "cause", "expired");
+        this.invalidations = meterRegistry.counter("items.details.cache.evictions", "cause", "invalidation");
+        meterRegistry.gauge("items.details.cache.size", this, ItemDetailsCache::size);
+        meterRegistry.gauge("items.details.cache.hit.ratio", this, ItemDetailsCache::hitRatio);
+    }
+
+    public Item get(Long itemId, Supplier<Item> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(itemId);
+            if (entry != null && nanoTime.getAsLong() - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return copy(entry.item);
+            }
+            if (entry != null) {
+                entries.remove(itemId);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Item item = snapshot(loader.get());
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(itemId, new Entry(item, nanoTime.getAsLong()));
+            }
+        }
+        return copy(item);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        evict(event.getItem().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentSaved(CommentSavedEvent event) {
+        evict(event.getComment().getItem().getId());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict(Long itemId) {
+        generation++;
+        if (entries.remove(itemId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static Item copy(Item item) {
+        Item copy = new Item();
+        copy.setId(item.getId());
+        copy.setName(item.getName());
+        copy.setDescription(item.getDescription());
+        copy.setAvailable(item.getAvailable());
+        copy.setOwner(item.getOwner());
+        copy.setRequest(item.getRequest());
+        copy.setComments(item.getComments());
+        copy.setCommentCount(item.getCommentCount());
+        return copy;
+    }
+
+    private static Item snapshot(Item item) {
+        Item snapshot = copy(item);
+        User owner = new User();
+        owner.setId(item.getOwner().getId());
+        snapshot.setOwner(owner);
+        if (item.getRequest() != null) {
+            ItemRequest request = new ItemRequest();
+            request.setId(item.getRequest().getId());
+            snapshot.setRequest(request);
+        }
+        if (item.getComments() != null) {
+            snapshot.setComments(Collections.unmodifiableList(item.getComments().stream()
+                    .map(comment -> snapshot(comment, snapshot))
+                    .collect(Collectors.toList())));
+        }
+        return snapshot;
+    }
+
+    private static Comment snapshot(Comment comment, Item item) {
+        User author = new User();
+        author.setId(comment.getAuthor().getId());
+        author.setName(comment.getAuthor().getName());
+        return new Comment(comment.getId(), comment.getText(), item, author, comment.getAuthorName(),
+                comment.getCreated());
+    }
+
+    private static class Entry {
+        private final Item item;
+
+        private final long loadedAt;
+
+        Entry(Item item, long loadedAt) {
+            this.item = item;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
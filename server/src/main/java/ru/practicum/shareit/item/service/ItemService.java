@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentCursor;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     Item addItem(Long ownerId, Item item);
@@ -18,7 +22,15 @@ public interface ItemService {
 
     List<Item> findItemsByKeyword(String keyword, Pageable pageable);
 
+    List<Item> findItemsBySimilarity(String keyword, Pageable pageable);
+
+    List<String> suggestItemNames(String prefix, int size);
+
     Comment addComment(Long id, Long itemId, Comment comment);
 
+    Slice<Comment> getComments(Long itemId, CommentCursor cursor, int size);
+
     List<Item> getItemsByRequest(Long id, Pageable pageable);
+
+    Map<Long, List<Item>> getItemsByRequests(Collection<Long> requestIds, int limit);
 }
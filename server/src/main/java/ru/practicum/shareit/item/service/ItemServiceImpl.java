@@ -1,36 +1,48 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.error.exception.EmptyNameException;
 import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnavailableItemException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentCursor;
+import ru.practicum.shareit.item.model.CommentSavedEvent;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentCount;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.beans.FeatureDescriptor;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int COMMENTS_PREVIEW_SIZE = 20;
 
     private final ItemRepository itemRepository;
 
@@ -42,53 +54,76 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestService itemRequestService;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final ObjectProvider<ItemNameSuggester> itemNameSuggester;
+
+    private final ItemSearchCache itemSearchCache;
+
+    private final ItemDetailsCache itemDetailsCache;
+
+    private final ItemMapper itemMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public Item addItem(Long ownerId, Item item) {
-        if (item.getAvailable() == null || item.getDescription() == null) {
-            throw new EmptyNameException("Name field cannot be empty");
-        }
-        if (item.getName().equals("")) {
-            throw new EmptyNameException("Name field cannot be empty");
-        }
+        ItemValidator.validateNewItem(item);
         if (!userRepository.existsById(ownerId)) {
             throw new UnknownIdException("Id not found");
         }
         item.setOwner(userRepository.findById(ownerId).orElseThrow(UnknownIdException::new));
-        return itemRepository.save(item);
+        return publishSaved(itemRepository.save(item), null);
     }
 
     @Override
+    @Transactional
     public Item updateItem(Long ownerId, Long id, ItemDto item) {
         Item itemFromDb = itemRepository.findById(id).orElseThrow(UnknownIdException::new);
         if (!Objects.equals(itemFromDb.getOwner().getId(), ownerId)) {
             throw new IllegalUserException("Wrong user id provided");
         }
-        String[] ignoredProperties = getNullPropertyNames(item);
-        BeanUtils.copyProperties(item, itemFromDb, ignoredProperties);
-        return itemRepository.save(itemFromDb);
+        if (!changes(item.getName(), itemFromDb.getName())
+                && !changes(item.getDescription(), itemFromDb.getDescription())
+                && !changes(item.getAvailable(), itemFromDb.getAvailable())) {
+            return itemFromDb;
+        }
+        Item previous = new Item();
+        previous.setId(itemFromDb.getId());
+        previous.setName(itemFromDb.getName());
+        previous.setDescription(itemFromDb.getDescription());
+        previous.setAvailable(itemFromDb.getAvailable());
+        itemMapper.updateItem(item, itemFromDb);
+        return publishSaved(itemRepository.save(itemFromDb), previous);
     }
 
-    private static String[] getNullPropertyNames(Object object) {
-        final BeanWrapper wrappedSource = new BeanWrapperImpl(object);
-        return Stream.of(wrappedSource.getPropertyDescriptors())
-                .map(FeatureDescriptor::getName)
-                .filter(propertyName -> wrappedSource.getPropertyValue(propertyName) == null)
-                .toArray(String[]::new);
+    private static boolean changes(Object update, Object current) {
+        return update != null && !update.equals(current);
+    }
+
+    private Item publishSaved(Item item, Item previous) {
+        eventPublisher.publishEvent(new ItemSavedEvent(item, previous));
+        return item;
     }
 
     @Override
     public Item getItemById(Long userId, Long itemId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(UnknownIdException::new);
+        Item item = itemDetailsCache.get(itemId,
+                () -> setComments(itemRepository.findById(itemId).orElseThrow(UnknownIdException::new)));
         if (Objects.equals(item.getOwner().getId(), userId)) {
             item.setOwnerRequest(true);
         }
-        return setComments(item);
+        return item;
     }
 
     @Override
     public List<Item> getItemsByOwnerId(Long id, Pageable pageable) {
         List<Item> items = itemRepository.findAllByOwnerIdOrderById(id, pageable);
-        items.forEach(item -> item.setOwnerRequest(true));
+        Map<Long, Long> commentCounts = countComments(items);
+        items.forEach(item -> {
+            item.setOwnerRequest(true);
+            item.setCommentCount(commentCounts.getOrDefault(item.getId(), 0L));
+        });
         return items;
     }
 
@@ -97,7 +132,24 @@ public class ItemServiceImpl implements ItemService {
         if (keyword.isEmpty()) {
             return new ArrayList<>();
         }
-        return itemRepository.findItemsByKeyword(keyword, pageable);
+        return itemSearchCache.get(keyword, pageable, () -> itemSearchEngine.search(keyword, pageable));
+    }
+
+    @Override
+    public List<Item> findItemsBySimilarity(String keyword, Pageable pageable) {
+        if (keyword.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemSearchEngine.searchSimilar(keyword, pageable);
+    }
+
+    @Override
+    public List<String> suggestItemNames(String prefix, int size) {
+        ItemNameSuggester suggester = itemNameSuggester.getIfAvailable();
+        if (suggester == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return suggester.suggest(prefix, size);
     }
 
     @Override
@@ -111,7 +163,9 @@ public class ItemServiceImpl implements ItemService {
         if (comment.getText().isEmpty()) {
             throw new EmptyNameException("Text field cannot be empty");
         }
-        return setAuthorName(commentRepository.save(comment));
+        Comment savedComment = setAuthorName(commentRepository.save(comment));
+        eventPublisher.publishEvent(new CommentSavedEvent(savedComment));
+        return savedComment;
     }
 
     private boolean checkUserBookings(Long userId, Long itemId) {
@@ -123,16 +177,56 @@ public class ItemServiceImpl implements ItemService {
         return comment;
     }
 
+    @Override
+    public Slice<Comment> getComments(Long itemId, CommentCursor cursor, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new UnknownIdException("Item not found");
+        }
+        return findComments(itemId, cursor == null ? 0L : cursor.getId(), size);
+    }
+
+    private Slice<Comment> findComments(Long itemId, Long after, int size) {
+        Slice<Comment> comments = commentRepository.findCommentsByItemId(itemId, after, PageRequest.of(0, size));
+        comments.forEach(this::setAuthorName);
+        return comments;
+    }
+
     private Item setComments(Item item) {
-        List<Comment> comments = commentRepository.findCommentsByItemId(item.getId()).stream()
-                .map(this::setAuthorName)
-                .collect(Collectors.toList());
-        item.setComments(comments);
+        Slice<Comment> comments = findComments(item.getId(), 0L, COMMENTS_PREVIEW_SIZE);
+        item.setComments(comments.getContent());
+        item.setCommentCount(comments.hasNext() ? commentRepository.countByItemId(item.getId())
+                : comments.getNumberOfElements());
         return item;
     }
 
+    private Map<Long, Long> countComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        return commentRepository.countByItemIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentCount::getItemId, ItemCommentCount::getCount));
+    }
+
     @Override
     public List<Item> getItemsByRequest(Long id, Pageable pageable) {
         return itemRepository.findAllByRequestId(id, pageable);
     }
+
+    @Override
+    public Map<Long, List<Item>> getItemsByRequests(Collection<Long> requestIds, int limit) {
+        Map<Long, List<Item>> items = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return items;
+        }
+        for (Item item : itemRepository.findAllByRequestIdInOrderById(requestIds)) {
+            List<Item> requestItems = items.computeIfAbsent(item.getRequest().getId(), id -> new ArrayList<>());
+            if (requestItems.size() < limit) {
+                requestItems.add(item);
+            }
+        }
+        return items;
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.error.exception.EmptyNameException;
+import ru.practicum.shareit.item.model.Item;
+
+public class ItemValidator {
+    private ItemValidator() {
+    }
+
+    public static void validateNewItem(Item item) {
+        if (item.getAvailable() == null || item.getDescription() == null
+                || item.getName() == null || item.getName().trim().isEmpty()) {
+            throw new EmptyNameException("Name field cannot be empty");
+        }
+    }
+}
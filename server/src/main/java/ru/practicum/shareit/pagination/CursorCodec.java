@@ -0,0 +1,54 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.error.exception.WrongCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public final class CursorCodec {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "_";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Timestamp timestamp, Long id) {
+        return encode(timestamp.toLocalDateTime() + SEPARATOR + id);
+    }
+
+    public static String encode(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static <T> T decode(String value, BiFunction<Timestamp, Long, T> factory) {
+        return parse(value, decoded -> {
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return factory.apply(Timestamp.valueOf(LocalDateTime.parse(decoded.substring(0, separator))),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        });
+    }
+
+    public static <T> T decodeId(String value, Function<Long, T> factory) {
+        return parse(value, decoded -> factory.apply(Long.valueOf(decoded)));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new WrongCursorException("Unknown cursor: " + value);
+        }
+    }
+}
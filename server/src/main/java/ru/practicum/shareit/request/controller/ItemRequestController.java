@@ -2,6 +2,8 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,13 +14,22 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemSuggestionDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @AllArgsConstructor
@@ -37,37 +48,82 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long id,
-                                               @RequestParam(value = "from") int from,
-                                               @RequestParam(value = "size") int size) {
-        List<ItemRequestDto> itemRequestDtos = itemRequestMapper.toListDto(itemRequestService.getAllRequests(id,
-                PageRequest.of(from / size, size)));
-        return setItemDtoToList(itemRequestDtos);
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(
+            @RequestHeader("X-Sharer-User-Id") Long id,
+            @RequestParam(value = "from", defaultValue = "0") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(setItemDtoToList(itemRequestService
+                    .getAllRequests(id, PageRequest.of(from / size, size))));
+        }
+        Slice<ItemRequest> requests = itemRequestService.getAllRequests(id, ItemRequestCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<ItemRequest> content = requests.getContent();
+        if (requests.hasNext()) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER,
+                    ItemRequestCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return response.body(setItemDtoToList(content));
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllRequestsWithParameters(@RequestHeader("X-Sharer-User-Id") Long id,
-                                                             @RequestParam(value = "from") int from,
-                                                             @RequestParam(value = "size") int size) {
-        List<ItemRequestDto> itemRequestDtos = itemRequestMapper
-                .toListDto(itemRequestService.getAllRequestsWithPages(id, from, size));
-        return setItemDtoToList(itemRequestDtos);
+    public ResponseEntity<List<ItemRequestDto>> getAllRequestsWithParameters(
+            @RequestHeader("X-Sharer-User-Id") Long id,
+            @RequestParam(value = "from") int from,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(toDtoList(itemRequestService.getAllRequestsWithPages(id, from, size)));
+        }
+        Slice<ItemRequestWithItems> requests = itemRequestService.getAllRequestsWithPages(id,
+                ItemRequestCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<ItemRequestWithItems> content = requests.getContent();
+        if (requests.hasNext()) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER,
+                    ItemRequestCursor.of(content.get(content.size() - 1).getRequest()).encode());
+        }
+        return response.body(toDtoList(content));
+    }
+
+    @GetMapping("/suggestions")
+    public List<ItemSuggestionDto> getSuggestions(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                  @RequestParam(value = "from", defaultValue = "0") int from,
+                                                  @RequestParam(value = "size") int size) {
+        return itemRequestMapper.toSuggestionListDto(itemRequestService.getSuggestions(id,
+                PageRequest.of(from / size, size)));
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequest(@RequestHeader("X-Sharer-User-Id") Long id, @PathVariable Long requestId) {
         ItemRequestDto itemRequestDto = itemRequestMapper.toItemRequestDto(itemRequestService.getRequest(id, requestId));
         List<ItemDto> items = itemMapper.toListDto(itemService.getItemsByRequest(requestId,
-                PageRequest.of(0 / 20, 20)));
+                PageRequest.of(0, ItemRequestService.REQUEST_ITEMS_LIMIT)));
         itemRequestDto.setItems(items);
         return itemRequestDto;
     }
 
-    private List<ItemRequestDto> setItemDtoToList(List<ItemRequestDto> itemRequestDtos) {
-        itemRequestDtos
-                .forEach(request ->
-                        request.setItems(itemMapper.toListDto(itemService.getItemsByRequest(request.getId(),
-                                PageRequest.of(0 / 20, 20)))));
+    private List<ItemRequestDto> setItemDtoToList(List<ItemRequest> itemRequests) {
+        return toDtoList(itemRequests.stream()
+                .map(request -> new ItemRequestWithItems(request, null))
+                .collect(Collectors.toList()));
+    }
+
+    private List<ItemRequestDto> toDtoList(List<ItemRequestWithItems> itemRequests) {
+        List<Long> missing = itemRequests.stream()
+                .filter(request -> request.getItems() == null)
+                .map(request -> request.getRequest().getId())
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> items = missing.isEmpty() ? new HashMap<>()
+                : itemService.getItemsByRequests(missing, ItemRequestService.REQUEST_ITEMS_LIMIT);
+        List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
+        itemRequests.forEach(request -> {
+            ItemRequestDto itemRequestDto = itemRequestMapper.toItemRequestDto(request.getRequest());
+            itemRequestDto.setItems(itemMapper.toListDto(request.getItems() != null ? request.getItems()
+                    : items.getOrDefault(request.getRequest().getId(), new ArrayList<>())));
+            itemRequestDtos.add(itemRequestDto);
+        });
         return itemRequestDtos;
     }
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+public class ItemSuggestionDto {
+    private Long id;
+
+    private Long requestId;
+
+    private String requestDescription;
+
+    private Timestamp requestCreated;
+
+    private Long itemId;
+
+    private String itemName;
+
+    private Timestamp created;
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.request.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemSuggestionDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
 
 import java.util.List;
 
@@ -13,4 +16,13 @@ public abstract class ItemRequestMapper {
     public abstract ItemRequest toItemRequest(ItemRequestDto itemRequestDto);
 
     public abstract List<ItemRequestDto> toListDto(List<ItemRequest> itemRequests);
+
+    @Mapping(source = "request.id", target = "requestId")
+    @Mapping(source = "request.description", target = "requestDescription")
+    @Mapping(source = "request.created", target = "requestCreated")
+    @Mapping(source = "item.id", target = "itemId")
+    @Mapping(source = "item.name", target = "itemName")
+    public abstract ItemSuggestionDto toItemSuggestionDto(ItemSuggestion itemSuggestion);
+
+    public abstract List<ItemSuggestionDto> toSuggestionListDto(List<ItemSuggestion> itemSuggestions);
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.pagination.CursorCodec;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class ItemRequestCursor {
+    private final Timestamp created;
+
+    private final Long id;
+
+    public static ItemRequestCursor of(ItemRequest request) {
+        return new ItemRequestCursor(request.getCreated(), request.getId());
+    }
+
+    public static ItemRequestCursor decode(String value) {
+        return CursorCodec.decode(value, ItemRequestCursor::new);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(created, id);
+    }
+}
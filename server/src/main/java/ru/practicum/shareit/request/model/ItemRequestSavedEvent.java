@@ -0,0 +1,10 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemRequestSavedEvent {
+    private final ItemRequest request;
+}
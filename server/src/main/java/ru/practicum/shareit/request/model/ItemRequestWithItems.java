@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ItemRequestWithItems {
+    private final ItemRequest request;
+
+    private final List<Item> items;
+}
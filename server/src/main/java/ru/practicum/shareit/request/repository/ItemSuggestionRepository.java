@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+
+import javax.persistence.Table;
+import java.util.List;
+
+@Table(name = "item_suggestions")
+public interface ItemSuggestionRepository extends JpaRepository<ItemSuggestion, Long> {
+    @Query("select s from ItemSuggestion s join fetch s.request join fetch s.item where s.owner.id = :ownerId " +
+            "order by s.id desc")
+    List<ItemSuggestion> findAllByOwnerId(Long ownerId, Pageable pageable);
+}
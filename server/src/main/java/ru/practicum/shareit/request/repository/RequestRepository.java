@@ -1,15 +1,47 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestorId(Long id);
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r where r.requestor.id = :requestorId order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequestorId(@Param("requestorId") Long requestorId, Pageable pageable);
 
-    @Query(value = "select * from requests where requestor_id != ?1 order by created desc limit ?3 offset ?2",
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r where r.requestor.id = :requestorId order by r.created desc, r.id desc")
+    Slice<ItemRequest> findSliceByRequestorId(@Param("requestorId") Long requestorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r where r.requestor.id = :requestorId " +
+            "and r.created <= :created and (r.created < :created or r.id < :id) " +
+            "order by r.created desc, r.id desc")
+    Slice<ItemRequest> findSliceByRequestorIdBefore(@Param("requestorId") Long requestorId,
+                                                    @Param("created") Timestamp created,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    Optional<ItemRequest> findById(Long id);
+
+    @Query(value = "select * from requests where requestor_id != ?1 order by created desc, id desc limit ?3 offset ?2",
             nativeQuery = true)
     List<ItemRequest> findAllWithPagination(Long id, int offset, int limit);
+
+    @Query(value = "select * from requests where requestor_id != ?1 and created <= ?2 and (created < ?2 or id < ?3) " +
+            "order by created desc, id desc limit ?4", nativeQuery = true)
+    List<ItemRequest> findAllWithPaginationBefore(Long id, Timestamp created, Long requestId, int limit);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r order by r.created desc, r.id desc")
+    List<ItemRequest> findLatest(Pageable pageable);
 }
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.search.ItemMatchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.requests.matching.enabled", havingValue = "true")
+public class ItemRequestMatcher {
+    private final ItemMatchIndex itemMatchIndex;
+
+    private final ItemSuggestionRepository itemSuggestionRepository;
+
+    private final BlockingQueue<ItemRequest> pending;
+
+    private final int batchSize;
+
+    private final int maxSuggestions;
+
+    public ItemRequestMatcher(ItemMatchIndex itemMatchIndex,
+                              ItemSuggestionRepository itemSuggestionRepository,
+                              @Value("${shareit.requests.matching.queue-capacity}") int queueCapacity,
+                              @Value("${shareit.requests.matching.batch-size}") int batchSize,
+                              @Value("${shareit.requests.matching.max-suggestions}") int maxSuggestions) {
+        this.itemMatchIndex = itemMatchIndex;
+        this.itemSuggestionRepository = itemSuggestionRepository;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestSaved(ItemRequestSavedEvent event) {
+        ItemRequest request = new ItemRequest();
+        request.setId(event.getRequest().getId());
+        request.setDescription(event.getRequest().getDescription());
+        User requestor = new User();
+        requestor.setId(event.getRequest().getRequestor().getId());
+        request.setRequestor(requestor);
+        if (!pending.offer(request)) {
+            log.warn("Matching queue is full, request {} is not matched", request.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.requests.matching.delay-ms}")
+    public void matchPending() {
+        List<ItemRequest> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            Timestamp created = Timestamp.from(Instant.now());
+            List<ItemSuggestion> suggestions = new ArrayList<>();
+            for (ItemRequest request : batch) {
+                itemMatchIndex.match(request.getDescription(), request.getRequestor().getId(), maxSuggestions)
+                        .forEach(item -> suggestions.add(new ItemSuggestion(null, request, item, item.getOwner(),
+                                created)));
+            }
+            if (!suggestions.isEmpty()) {
+                try {
+                    itemSuggestionRepository.saveAll(suggestions);
+                } catch (DataAccessException e) {
+                    log.warn("Batch of {} suggestions was rejected, saving them one by one", suggestions.size(), e);
+                    saveOneByOne(suggestions);
+                }
+            }
+            log.info("Matched {} requests, {} suggestions", batch.size(), suggestions.size());
+            batch.clear();
+        }
+    }
+
+    private void saveOneByOne(List<ItemSuggestion> suggestions) {
+        int failed = 0;
+        for (ItemSuggestion suggestion : suggestions) {
+            suggestion.setId(null);
+            try {
+                itemSuggestionRepository.save(suggestion);
+            } catch (DataAccessException e) {
+                failed++;
+                log.debug("Suggestion of item {} for request {} was not saved: {}", suggestion.getItem().getId(),
+                        suggestion.getRequest().getId(), e.getMostSpecificCause().getMessage());
+            }
+        }
+        if (failed > 0) {
+            log.warn("{} of {} suggestions were not saved", failed, suggestions.size());
+        }
+    }
+}
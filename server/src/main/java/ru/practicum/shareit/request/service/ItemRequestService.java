@@ -1,37 +1,75 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
+import ru.practicum.shareit.request.model.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class ItemRequestService {
+    public static final int REQUEST_ITEMS_LIMIT = 20;
 
     private RequestRepository requestRepository;
 
     private UserRepository userRepository;
 
+    private ItemSuggestionRepository itemSuggestionRepository;
+
+    private ItemRequestFeed itemRequestFeed;
+
+    private ApplicationEventPublisher eventPublisher;
+
     public ItemRequest addItemRequest(Long id, ItemRequest itemRequest) {
         itemRequest.setCreated(Timestamp.from(Instant.now()));
         itemRequest.setRequestor(userRepository.findById(id).orElseThrow(UnknownIdException::new));
-        return requestRepository.save(itemRequest);
+        ItemRequest saved = requestRepository.save(itemRequest);
+        eventPublisher.publishEvent(new ItemRequestSavedEvent(saved));
+        return saved;
     }
 
     public List<ItemRequest> getAllRequests(Long id, Pageable pageable) {
+        checkUserExists(id);
+        return requestRepository.findAllByRequestorId(id, pageable);
+    }
+
+    public Slice<ItemRequest> getAllRequests(Long id, ItemRequestCursor cursor, int size) {
+        checkUserExists(id);
+        if (cursor == null) {
+            return requestRepository.findSliceByRequestorId(id, PageRequest.of(0, size));
+        }
+        return requestRepository.findSliceByRequestorIdBefore(id, cursor.getCreated(), cursor.getId(),
+                PageRequest.of(0, size));
+    }
+
+    public List<ItemSuggestion> getSuggestions(Long ownerId, Pageable pageable) {
+        checkUserExists(ownerId);
+        return itemSuggestionRepository.findAllByOwnerId(ownerId, pageable);
+    }
+
+    private void checkUserExists(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UnknownIdException("User not found");
         }
-        return requestRepository.findAllByRequestorId(id);
     }
 
     public ItemRequest getRequest(Long userId, Long requestId) {
@@ -41,7 +79,43 @@ public class ItemRequestService {
         return requestRepository.findById(requestId).orElseThrow(UnknownIdException::new);
     }
 
-    public List<ItemRequest> getAllRequestsWithPages(Long id, int from, int size) {
-        return requestRepository.findAllWithPagination(id, from, size);
+    public List<ItemRequestWithItems> getAllRequestsWithPages(Long id, int from, int size) {
+        ItemRequestFeed.Page page = itemRequestFeed.read(id, from, size);
+        if (page == null) {
+            return withoutItems(requestRepository.findAllWithPagination(id, from, size));
+        }
+        return continueAfter(id, page, size);
+    }
+
+    public Slice<ItemRequestWithItems> getAllRequestsWithPages(Long id, ItemRequestCursor cursor, int size) {
+        List<ItemRequestWithItems> requests;
+        if (cursor == null) {
+            requests = getAllRequestsWithPages(id, 0, size + 1);
+        } else {
+            ItemRequestFeed.Page page = itemRequestFeed.read(id, cursor, size + 1);
+            requests = page == null
+                    ? withoutItems(requestRepository.findAllWithPaginationBefore(id, cursor.getCreated(),
+                    cursor.getId(), size + 1))
+                    : continueAfter(id, page, size + 1);
+        }
+        boolean hasNext = requests.size() > size;
+        return new SliceImpl<>(hasNext ? requests.subList(0, size) : requests, PageRequest.of(0, size), hasNext);
+    }
+
+    private List<ItemRequestWithItems> continueAfter(Long id, ItemRequestFeed.Page page, int size) {
+        List<ItemRequestWithItems> requests = page.getRequests();
+        if (page.getContinueAfter() == null) {
+            return requests;
+        }
+        List<ItemRequestWithItems> result = new ArrayList<>(requests);
+        result.addAll(withoutItems(requestRepository.findAllWithPaginationBefore(id,
+                page.getContinueAfter().getCreated(), page.getContinueAfter().getId(), size - requests.size())));
+        return result;
+    }
+
+    private static List<ItemRequestWithItems> withoutItems(List<ItemRequest> requests) {
+        return requests.stream()
+                .map(request -> new ItemRequestWithItems(request, null))
+                .collect(Collectors.toList());
     }
 }
@@ -1,6 +1,10 @@
 package ru.practicum.shareit.user.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -9,4 +13,8 @@ public interface UserMapper {
     UserDto toUserDto(User user);
 
     User toUser(UserDto user);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    void updateUser(UserDto user, @MappingTarget User target);
 }
@@ -1,32 +1,31 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.AllArgsConstructor;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.error.exception.DuplicatedEmailException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.beans.FeatureDescriptor;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Objects;
 
 @Service
 @AllArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
 
+    private final UserMapper userMapper;
+
     public User addUser(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new DuplicatedEmailException("Email already registered");
-        }
+        UserValidator.validateNewUser(user, email -> userRepository.findByEmail(email).isPresent());
         return userRepository.save(user);
     }
 
+    @Transactional
     public User updateUser(Long id, UserDto user) {
         User userFromDb = userRepository.findById(id).orElseThrow(UnknownIdException::new);
         if (user.getEmail() != null
@@ -34,19 +33,15 @@ public class UserService {
                 && userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new DuplicatedEmailException("Email already registered");
         }
-        String[] ignoredProperties = getNullPropertyNames(user);
-        BeanUtils.copyProperties(user, userFromDb, ignoredProperties);
+        String name = userFromDb.getName();
+        String email = userFromDb.getEmail();
+        userMapper.updateUser(user, userFromDb);
+        if (Objects.equals(name, userFromDb.getName()) && Objects.equals(email, userFromDb.getEmail())) {
+            return userFromDb;
+        }
         return userRepository.save(userFromDb);
     }
 
-    private static String[] getNullPropertyNames(Object object) {
-        final BeanWrapper wrappedSource = new BeanWrapperImpl(object);
-        return Stream.of(wrappedSource.getPropertyDescriptors())
-                .map(FeatureDescriptor::getName)
-                .filter(propertyName -> wrappedSource.getPropertyValue(propertyName) == null)
-                .toArray(String[]::new);
-    }
-
     public User getUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UnknownIdException("Id not found");
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user.service;
+
+import ru.practicum.shareit.error.exception.DuplicatedEmailException;
+import ru.practicum.shareit.error.exception.EmptyEmailException;
+import ru.practicum.shareit.error.exception.EmptyNameException;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.function.Predicate;
+
+public class UserValidator {
+    private UserValidator() {
+    }
+
+    public static void validateNewUser(User user, Predicate<String> emailRegistered) {
+        if (isBlank(user.getName())) {
+            throw new EmptyNameException("Name field cannot be empty");
+        }
+        if (isBlank(user.getEmail())) {
+            throw new EmptyEmailException("Email field cannot be empty");
+        }
+        if (emailRegistered.test(user.getEmail())) {
+            throw new DuplicatedEmailException("Email already registered");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX ix_requests_created ON requests (created DESC, id DESC);
@@ -1,5 +1,4 @@
-DROP TABLE IF EXISTS users CASCADE;
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
@@ -7,8 +6,7 @@ CREATE TABLE IF NOT EXISTS users (
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-DROP TABLE IF EXISTS requests CASCADE;
-CREATE TABLE IF NOT EXISTS requests (
+CREATE TABLE requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     description VARCHAR(512) NOT NULL,
     requestor_id BIGINT REFERENCES users (id) NOT NULL,
@@ -16,8 +14,7 @@ CREATE TABLE IF NOT EXISTS requests (
     CONSTRAINT pk_request PRIMARY KEY (id)
 );
 
-DROP TABLE IF EXISTS items CASCADE;
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(512) NOT NULL,
@@ -27,8 +24,7 @@ CREATE TABLE IF NOT EXISTS items (
     CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
-DROP TABLE IF EXISTS bookings CASCADE;
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -38,8 +34,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
-DROP TABLE IF EXISTS comments CASCADE;
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text TEXT NOT NULL,
     item_id BIGINT REFERENCES items (id) NOT NULL,
@@ -47,4 +42,3 @@ CREATE TABLE IF NOT EXISTS comments (
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id)
 );
-
@@ -0,0 +1,2 @@
+DROP INDEX ix_requests_requestor_created;
+CREATE INDEX ix_requests_requestor_created ON requests (requestor_id, created DESC, id DESC);
@@ -0,0 +1,13 @@
+CREATE SEQUENCE item_suggestions_id_seq START WITH ${id_allocation_size} INCREMENT BY ${id_allocation_size};
+
+CREATE TABLE item_suggestions (
+    id BIGINT NOT NULL,
+    request_id BIGINT REFERENCES requests (id) ON DELETE CASCADE NOT NULL,
+    item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    owner_id BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_item_suggestions PRIMARY KEY (id),
+    CONSTRAINT uq_item_suggestions_request_item UNIQUE (request_id, item_id)
+);
+
+CREATE INDEX ix_item_suggestions_owner ON item_suggestions (owner_id, id DESC);
@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; WAITING lookups use ix_bookings_item_start here.
+SELECT 1;
@@ -0,0 +1,2 @@
+-- H2 has no table partitioning; bookings stays a single table here.
+SELECT 1;
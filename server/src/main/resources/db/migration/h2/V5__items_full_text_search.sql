@@ -0,0 +1,2 @@
+-- H2 has no tsvector type; item search falls back to LIKE matching here.
+SELECT 1;
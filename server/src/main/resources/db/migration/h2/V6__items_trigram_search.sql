@@ -0,0 +1,2 @@
+-- H2 has no pg_trgm; fuzzy item search uses the in-memory trigram index here.
+SELECT 1;
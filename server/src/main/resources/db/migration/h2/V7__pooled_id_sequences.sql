@@ -0,0 +1,24 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_id_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE users_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + ${id_allocation_size} FROM users);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_id_seq;
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE requests_id_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE requests_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + ${id_allocation_size} FROM requests);
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT NEXT VALUE FOR requests_id_seq;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE items_id_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE items_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + ${id_allocation_size} FROM items);
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_id_seq;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE bookings_id_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE bookings_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + ${id_allocation_size} FROM bookings);
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_id_seq;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE comments_id_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE comments_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + ${id_allocation_size} FROM comments);
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_id_seq;
@@ -0,0 +1 @@
+CREATE INDEX ix_bookings_waiting_item_start ON bookings (item_id, start_date) WHERE status = 'WAITING';
@@ -0,0 +1,42 @@
+DROP INDEX ix_bookings_booker_start;
+DROP INDEX ix_bookings_item_start;
+DROP INDEX ix_bookings_waiting_item_start;
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER TABLE bookings_unpartitioned RENAME CONSTRAINT pk_booking TO pk_booking_unpartitioned;
+
+CREATE TABLE bookings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT REFERENCES items (id) NOT NULL,
+    booker_id BIGINT REFERENCES users (id) NOT NULL,
+    status VARCHAR NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', least((SELECT min(start_date) FROM bookings_unpartitioned),
+            localtimestamp));
+    part_start DATE;
+BEGIN
+    EXECUTE format('CREATE TABLE bookings_archive PARTITION OF bookings FOR VALUES FROM (MINVALUE) TO (%L) ' ||
+            'WITH (fillfactor = 100)', first_month);
+    part_start := first_month;
+    WHILE part_start <= date_trunc('month', localtimestamp) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                'bookings_p' || to_char(part_start, 'YYYYMM'), part_start, part_start + INTERVAL '1 month');
+        part_start := part_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_unpartitioned;
+SELECT setval(pg_get_serial_sequence('bookings', 'id'), coalesce((SELECT max(id) FROM bookings), 0) + 1, false);
+DROP TABLE bookings_unpartitioned;
+
+CREATE INDEX ix_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX ix_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX ix_bookings_waiting_item_start ON bookings (item_id, start_date) WHERE status = 'WAITING';
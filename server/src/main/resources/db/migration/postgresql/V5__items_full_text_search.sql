@@ -0,0 +1,4 @@
+ALTER TABLE items ADD COLUMN search_vector tsvector GENERATED ALWAYS AS
+    (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX ix_items_search_vector ON items USING GIN (search_vector);
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX ix_items_name_trgm ON items USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX ix_items_description_trgm ON items USING GIN (lower(description) gin_trgm_ops);
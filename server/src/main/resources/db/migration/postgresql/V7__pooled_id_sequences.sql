@@ -0,0 +1,24 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_id_seq INCREMENT BY ${id_allocation_size} OWNED BY users.id;
+SELECT setval('users_id_seq', coalesce((SELECT max(id) FROM users), 0) + ${id_allocation_size}, false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE requests_id_seq INCREMENT BY ${id_allocation_size} OWNED BY requests.id;
+SELECT setval('requests_id_seq', coalesce((SELECT max(id) FROM requests), 0) + ${id_allocation_size}, false);
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_id_seq');
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE items_id_seq INCREMENT BY ${id_allocation_size} OWNED BY items.id;
+SELECT setval('items_id_seq', coalesce((SELECT max(id) FROM items), 0) + ${id_allocation_size}, false);
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_id_seq');
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE bookings_id_seq INCREMENT BY ${id_allocation_size} OWNED BY bookings.id;
+SELECT setval('bookings_id_seq', coalesce((SELECT max(id) FROM bookings), 0) + ${id_allocation_size}, false);
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE comments_id_seq INCREMENT BY ${id_allocation_size} OWNED BY comments.id;
+SELECT setval('comments_id_seq', coalesce((SELECT max(id) FROM comments), 0) + ${id_allocation_size}, false);
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_id_seq');
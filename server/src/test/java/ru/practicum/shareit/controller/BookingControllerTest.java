@@ -11,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -19,32 +21,46 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithEntities;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingEventStream;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.error.exception.BookingByOwnerException;
 import ru.practicum.shareit.error.exception.EndBeforeStartException;
 import ru.practicum.shareit.error.exception.UnavailableItemException;
+import ru.practicum.shareit.error.exception.UnknownIdException;
+import ru.practicum.shareit.error.exception.WrongCursorException;
 import ru.practicum.shareit.error.exception.WrongStateException;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -57,10 +73,10 @@ public class BookingControllerTest {
     private BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
 
     @Mock
-    private ItemService itemService;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private BookingEventStream bookingEventStream;
 
     @InjectMocks
     private BookingController bookingController;
@@ -128,6 +144,30 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).addBooking(anyLong(), any(Booking.class));
     }
 
+    @Test
+    void streamBookingsTest() throws Exception {
+        mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+
+                .andExpect(status().isOk());
+        verify(userService, times(1)).getUser(1L);
+        verify(bookingEventStream, times(1)).subscribe(eq(1L), any(HttpServletRequest.class),
+                any(HttpServletResponse.class));
+    }
+
+    @Test
+    void streamBookingsTestWithUnknownUser() throws Exception {
+        when(userService.getUser(1L))
+                .thenThrow(new UnknownIdException("Id not found"));
+
+        mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1))
+
+                .andExpect(status().isNotFound());
+        verify(bookingEventStream, never()).subscribe(anyLong(), any(), any());
+    }
+
     @Test
     void addBookingTestWithErrorOwnerBooked() throws Exception {
         when(bookingService.addBooking(anyLong(), any(Booking.class)))
@@ -196,6 +236,72 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).setBookingStatus(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    void testGetAllUserBookingsSkipsFromRows() throws Exception {
+        when(bookingService.getAllUserBookingsByState(1L, "ALL", OffsetPageRequest.of(5, 10)))
+                .thenReturn(List.of(createBooking()));
+
+        mvc.perform(get("/bookings?state=ALL&from=5&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(createBooking().getId()), Long.class));
+    }
+
+    @Test
+    void testGetAllOwnerBookingsSkipsFromRows() throws Exception {
+        when(bookingService.getAllOwnerBookingsByState(1L, "ALL", OffsetPageRequest.of(5, 10)))
+                .thenReturn(List.of(createBooking()));
+
+        mvc.perform(get("/bookings/owner?state=ALL&from=5&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(createBooking().getId()), Long.class));
+    }
+
+    @Test
+    void testGetAllUserBookingsWithCursor() throws Exception {
+        Booking booking = createBooking();
+        when(bookingService.getAllUserBookingsByState(anyLong(), anyString(), any(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/bookings?state=ALL&size=1&cursor=")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER,
+                        BookingCursor.of(booking).encode()))
+                .andExpect(jsonPath("$[0].id", is(booking.getId()), Long.class));
+        verify(bookingService, times(1)).getAllUserBookingsByState(anyLong(), anyString(), any(), anyInt());
+    }
+
+    @Test
+    void testGetAllOwnerBookingsWithLastCursorPage() throws Exception {
+        when(bookingService.getAllOwnerBookingsByState(anyLong(), anyString(), any(BookingCursor.class), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(createBooking()), PageRequest.of(0, 10), false));
+
+        mvc.perform(get("/bookings/owner?state=ALL&size=10&cursor="
+                        + BookingCursor.of(createBooking()).encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorCodec.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetAllOwnerBookingsWithWrongCursor() {
+        assertThrows(WrongCursorException.class, () -> BookingCursor.decode("wrong"));
+    }
+
     private Booking createBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
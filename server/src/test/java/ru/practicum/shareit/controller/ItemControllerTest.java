@@ -12,6 +12,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -26,22 +29,29 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentCursor;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -127,6 +137,45 @@ public class ItemControllerTest {
         verify(itemService, times(1)).getItemById(anyLong(), anyLong());
     }
 
+    @Test
+    void suggestItemNamesTest() throws Exception {
+        when(itemService.suggestItemNames("дре", 5))
+                .thenReturn(List.of("Дрель", "Дрель ударная"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("size", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("Дрель")))
+                .andExpect(jsonPath("$[1]", is("Дрель ударная")));
+    }
+
+    @Test
+    void getCommentsTest() throws Exception {
+        Comment comment = new Comment();
+        comment.setId(5L);
+        comment.setText("example");
+        comment.setAuthorName("Example");
+        comment.setItem(createItem());
+        comment.setAuthor(comment.getItem().getOwner());
+        when(itemService.getComments(anyLong(), any(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(comment), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/items/1/comments")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER, new CommentCursor(5L).encode()))
+                .andExpect(jsonPath("$[0].authorName", is("Example")));
+    }
+
     @Test
     void getItemTestWithError() throws Exception {
         when(itemService.getItemById(anyLong(), anyLong()))
@@ -175,6 +224,31 @@ public class ItemControllerTest {
         verify(itemService, times(1)).addComment(anyLong(), anyLong(), any(Comment.class));
     }
 
+    @Test
+    void getItemsByOwnerTest() throws Exception {
+        Booking lastBooking = new Booking();
+        lastBooking.setId(2L);
+        lastBooking.setItem(createItem());
+        lastBooking.setBooker(createUser());
+        when(itemService.getItemsByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(createItem()));
+        when(bookingService.getLastBookings(any()))
+                .thenReturn(Map.of(1L, lastBooking));
+        when(bookingService.getNextBookings(any()))
+                .thenReturn(Map.of());
+
+        mvc.perform(get("/items?from=0&size=20")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastBooking.id", is(2L), Long.class));
+        verify(bookingService, times(1)).getLastBookings(any());
+        verify(bookingService, never()).getLastBooking(anyLong());
+    }
+
     @Test
     void testSetBookings() {
         ItemDtoWithBookings itemDtoWithBookings = new ItemDtoWithBookings();
@@ -7,31 +7,48 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorCodec;
 import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemSuggestion;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -98,6 +115,117 @@ public class ItemRequestControllerTest {
         verify(itemRequestService, times(1)).getRequest(anyLong(), anyLong());
     }
 
+    @Test
+    void testGetAllRequestsLoadsItemsInOneCall() throws Exception {
+        ItemRequest second = createItemRequest();
+        second.setId(2L);
+        Item item = new Item();
+        item.setId(5L);
+        item.setName("Example");
+        item.setOwner(new User());
+        item.setRequest(second);
+        when(itemRequestService.getAllRequestsWithPages(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(new ItemRequestWithItems(createItemRequest(), null),
+                        new ItemRequestWithItems(second, null)));
+        when(itemService.getItemsByRequests(List.of(1L, 2L), 20))
+                .thenReturn(Map.of(2L, List.of(item)));
+
+        mvc.perform(get("/requests/all?from=0&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].items.length()", is(0)))
+                .andExpect(jsonPath("$[1].items[0].id", is(5L), Long.class));
+        verify(itemService, times(1)).getItemsByRequests(List.of(1L, 2L), 20);
+    }
+
+    @Test
+    void testGetAllRequestsUsesItemsFromFeed() throws Exception {
+        ItemRequest request = createItemRequest();
+        Item item = new Item();
+        item.setId(5L);
+        item.setName("Example");
+        item.setOwner(new User());
+        item.setRequest(request);
+        when(itemRequestService.getAllRequestsWithPages(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(new ItemRequestWithItems(request, List.of(item))));
+
+        mvc.perform(get("/requests/all?from=0&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].items[0].id", is(5L), Long.class));
+        verify(itemService, never()).getItemsByRequests(any(), anyInt());
+    }
+
+    @Test
+    void testGetAllRequestsWithCursorReturnsNextCursor() throws Exception {
+        ItemRequest request = createItemRequest();
+        request.setCreated(Timestamp.valueOf("2023-07-04 19:59:22"));
+        when(itemRequestService.getAllRequests(anyLong(), isNull(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(request), PageRequest.of(0, 1), true));
+        when(itemService.getItemsByRequests(List.of(1L), 20))
+                .thenReturn(new HashMap<>());
+
+        mvc.perform(get("/requests?size=1&cursor=")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER,
+                        ItemRequestCursor.of(request).encode()))
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+    }
+
+    @Test
+    void testGetAllRequestsWithCursorFromFeedReturnsNextCursor() throws Exception {
+        ItemRequest request = createItemRequest();
+        request.setCreated(Timestamp.valueOf("2023-07-04 19:59:22"));
+        when(itemRequestService.getAllRequestsWithPages(anyLong(), ArgumentMatchers.<ItemRequestCursor>isNull(),
+                anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(new ItemRequestWithItems(request, List.of())),
+                        PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/requests/all?from=0&size=1&cursor=")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER,
+                        ItemRequestCursor.of(request).encode()))
+                .andExpect(jsonPath("$[0].items.length()", is(0)));
+        verify(itemService, never()).getItemsByRequests(any(), anyInt());
+    }
+
+    @Test
+    void testGetSuggestions() throws Exception {
+        ItemRequest request = createItemRequest();
+        request.setDescription("Example test");
+        Item item = new Item();
+        item.setId(5L);
+        item.setName("Example");
+        when(itemRequestService.getSuggestions(1L, PageRequest.of(1, 10)))
+                .thenReturn(List.of(new ItemSuggestion(3L, request, item, new User(), null)));
+
+        mvc.perform(get("/requests/suggestions?from=10&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(3L), Long.class))
+                .andExpect(jsonPath("$[0].requestId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].requestDescription", is("Example test")))
+                .andExpect(jsonPath("$[0].itemId", is(5L), Long.class))
+                .andExpect(jsonPath("$[0].itemName", is("Example")));
+    }
+
     private ItemRequest createItemRequest() {
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setId(1L);
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BatchInsertTest {
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        owner = userRepository.save(createUser("owner@batch.com"));
+        booker = userRepository.save(createUser("booker@batch.com"));
+        item = new Item();
+        item.setName("Batch drill");
+        item.setDescription("Drill for batch inserts");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from bookings where item_id = ?", item.getId());
+        jdbcTemplate.update("delete from comments where item_id = ?", item.getId());
+        itemRepository.delete(item);
+        userRepository.delete(booker);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    public void testBookingsAreInsertedInBatches() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = insert(i -> {
+            Booking booking = new Booking();
+            booking.setStart(Timestamp.valueOf(start.plusHours(i)));
+            booking.setEnd(Timestamp.valueOf(start.plusHours(i + 1)));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            return booking;
+        }, bookingRepository::saveAll);
+
+        assertEquals(ROWS, new HashSet<>(ids(bookings, Booking::getId)).size());
+    }
+
+    @Test
+    public void testCommentsAreInsertedInBatches() {
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now());
+        List<Comment> comments = insert(i -> {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setCreated(created);
+            return comment;
+        }, commentRepository::saveAll);
+
+        assertEquals(ROWS, new HashSet<>(ids(comments, Comment::getId)).size());
+    }
+
+    private <T> List<T> insert(IntFunction<T> factory, Function<List<T>, List<T>> saver) {
+        List<T> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(factory.apply(i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<T> saved = transactionTemplate.execute(status -> saver.apply(rows));
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < ROWS / 10, "Expected batched inserts, got " + statements + " statements");
+        return saved;
+    }
+
+    private static <T> List<Long> ids(List<T> rows, Function<T, Long> id) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(id.apply(row)));
+        return ids;
+    }
+
+    private static User createUser(String email) {
+        User user = new User();
+        user.setName("Example");
+        user.setEmail(email);
+        return user;
+    }
+}
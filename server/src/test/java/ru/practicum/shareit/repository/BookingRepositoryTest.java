@@ -1,44 +1,63 @@
 package ru.practicum.shareit.repository;
 
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.AppConfiguration;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.endAfterNow;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.endBeforeNow;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasBookerId;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasItemId;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasOwnerId;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.hasStatus;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateAndIdDesc;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateAsc;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.orderByStartDateDesc;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.startAfterNow;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.startAndIdBefore;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.startBeforeNow;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(AppConfiguration.class)
 public class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Booking booking;
 
     @Test
     public void testBookingsByUserRequest1() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(1L)),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(1L)),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -46,7 +65,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByUserRequest2() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(1L)).and(startAfterNow()),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(1L)).and(startAfterNow()),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -54,7 +73,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByUserRequest3() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(1L).and(startBeforeNow()
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(1L).and(startBeforeNow()
                         .and(endAfterNow()))),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
@@ -63,7 +82,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByUserRequest4() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasBookerId(1L).and(endBeforeNow())),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(1L).and(endBeforeNow())),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -71,7 +90,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByUserRequest5() {
-        List<Booking> result = bookingRepository.findAll(hasBookerId(1L).and(hasStatus(BookingStatus.WAITING)),
+        List<Booking> result = bookingRepository.findSlice(hasBookerId(1L).and(hasStatus(BookingStatus.WAITING)),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -79,7 +98,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest1() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(1L)),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasOwnerId(1L)),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -87,7 +106,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest2() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(1L)).and(startAfterNow()),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasOwnerId(1L)).and(startAfterNow()),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -95,7 +114,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest3() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(1L).and(startBeforeNow()
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasOwnerId(1L).and(startBeforeNow()
                         .and(endAfterNow()))), PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -103,7 +122,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest4() {
-        List<Booking> result = bookingRepository.findAll(orderByStartDateDesc(hasOwnerId(1L).and(endBeforeNow())),
+        List<Booking> result = bookingRepository.findSlice(orderByStartDateDesc(hasOwnerId(1L).and(endBeforeNow())),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -111,7 +130,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest5() {
-        List<Booking> result = bookingRepository.findAll(hasOwnerId(1L).and(hasStatus(BookingStatus.WAITING)),
+        List<Booking> result = bookingRepository.findSlice(hasOwnerId(1L).and(hasStatus(BookingStatus.WAITING)),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -119,7 +138,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByOwnerRequest6() {
-        List<Booking> result = bookingRepository.findAll(hasOwnerId(1L).and(hasStatus(BookingStatus.REJECTED)),
+        List<Booking> result = bookingRepository.findSlice(hasOwnerId(1L).and(hasStatus(BookingStatus.REJECTED)),
                 PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -127,7 +146,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void testBookingsByUserRequest6() {
-        List<Booking> result = bookingRepository.findAll(hasBookerId(1L).and(hasBookerId(1L)
+        List<Booking> result = bookingRepository.findSlice(hasBookerId(1L).and(hasBookerId(1L)
                         .and(hasStatus(BookingStatus.REJECTED))), PageRequest.of(0 / 9999, 9999)).getContent();
 
         assertNotNull(result);
@@ -149,6 +168,320 @@ public class BookingRepositoryTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void testFindLastAndNextBookingsByItemIds() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item first = createItem();
+        first.setId(null);
+        first.setOwner(owner);
+        entityManager.persist(first);
+        Item second = createItem();
+        second.setId(null);
+        second.setOwner(owner);
+        entityManager.persist(second);
+        Booking oldBooking = persistBooking(first, booker, -7200, BookingStatus.APPROVED);
+        Booking lastBooking = persistBooking(first, booker, -3600, BookingStatus.APPROVED);
+        Booking nextBooking = persistBooking(first, booker, 3600, BookingStatus.APPROVED);
+        persistBooking(first, booker, 7200, BookingStatus.APPROVED);
+        persistBooking(second, booker, 1800, BookingStatus.WAITING);
+
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Booking> last = bookingRepository.findLastBookingsByItemIds(List.of(first.getId(), second.getId()), now);
+        List<Booking> next = bookingRepository.findNextBookingsByItemIds(List.of(first.getId(), second.getId()), now);
+        List<Booking> lastLater = bookingRepository.findLastBookingsByItemIds(List.of(first.getId()),
+                Timestamp.from(now.toInstant().plusSeconds(5400)));
+
+        assertEquals(1, last.size());
+        assertEquals(lastBooking.getId(), last.get(0).getId());
+        assertEquals(1, next.size());
+        assertEquals(nextBooking.getId(), next.get(0).getId());
+        assertEquals(nextBooking.getId(), lastLater.get(0).getId());
+        assertNotNull(oldBooking.getId());
+    }
+
+    @Test
+    public void testGetLastAndNextBookingLoadOnlyOneBooking() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        for (int i = 1; i <= 20; i++) {
+            persistBooking(item, booker, -3600L * i, BookingStatus.APPROVED);
+            persistBooking(item, booker, 3600L * i, BookingStatus.APPROVED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Optional<Booking> last = bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(item.getId(),
+                Timestamp.from(Instant.now()));
+        Optional<Booking> next = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
+                item.getId(), Timestamp.from(Instant.now()), BookingStatus.APPROVED);
+
+        assertTrue(last.isPresent());
+        assertTrue(next.isPresent());
+        assertTrue(last.get().getStart().before(next.get().getStart()));
+        assertTrue(statistics.getEntityLoadCount() <= 5);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testBookingsByBookerAfterCursor() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        Booking first = persistBooking(item, booker, 3600, BookingStatus.APPROVED);
+        Booking second = persistBooking(item, booker, 3600, BookingStatus.APPROVED);
+        second.setStart(first.getStart());
+        Booking third = persistBooking(item, booker, -3600, BookingStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> firstPage = bookingRepository.findSlice(orderByStartDateAndIdDesc(hasBookerId(booker.getId())
+                .and(startAndIdBefore(null))), PageRequest.of(0, 2)).getContent();
+        BookingCursor cursor = BookingCursor.decode(BookingCursor.of(firstPage.get(1)).encode());
+        List<Booking> secondPage = bookingRepository.findSlice(orderByStartDateAndIdDesc(hasBookerId(booker.getId())
+                .and(startAndIdBefore(cursor))), PageRequest.of(0, 2)).getContent();
+
+        assertEquals(List.of(second.getId(), first.getId()), List.of(firstPage.get(0).getId(),
+                firstPage.get(1).getId()));
+        assertEquals(1, secondPage.size());
+        assertEquals(third.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    public void testFindSliceFromOffsetBetweenPages() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        persistBooking(item, booker, 3600L * 3, BookingStatus.APPROVED);
+        Booking middle = persistBooking(item, booker, 3600L * 2, BookingStatus.APPROVED);
+        Booking earliest = persistBooking(item, booker, 3600L, BookingStatus.APPROVED);
+
+        Slice<Booking> page = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(booker.getId())),
+                OffsetPageRequest.of(1, 2));
+
+        assertEquals(List.of(middle.getId(), earliest.getId()), List.of(page.getContent().get(0).getId(),
+                page.getContent().get(1).getId()));
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testFindSliceByBooker() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        for (int i = 1; i <= 3; i++) {
+            persistBooking(item, booker, 3600L * i, BookingStatus.WAITING);
+        }
+
+        Slice<Booking> firstPage = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(booker.getId())),
+                PageRequest.of(0, 2));
+        Slice<Booking> lastPage = bookingRepository.findSlice(hasBookerId(booker.getId())
+                .and(hasStatus(BookingStatus.WAITING)), PageRequest.of(1, 2));
+
+        assertEquals(2, firstPage.getNumberOfElements());
+        assertTrue(firstPage.hasNext());
+        assertTrue(firstPage.getContent().get(0).getStart().after(firstPage.getContent().get(1).getStart()));
+        assertEquals(1, lastPage.getNumberOfElements());
+        assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    public void testBookingListLoadsItemAndBookerInOneQuery() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        for (int i = 1; i <= 5; i++) {
+            persistBooking(item, booker, 3600L * i, BookingStatus.WAITING);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Booking> bookings = bookingRepository.findSlice(orderByStartDateDesc(hasOwnerId(owner.getId())),
+                PageRequest.of(0, 10)).getContent();
+
+        assertEquals(5, bookings.size());
+        assertTrue(bookings.stream().allMatch(booking -> Hibernate.isInitialized(booking.getItem())
+                && Hibernate.isInitialized(booking.getItem().getOwner())
+                && Hibernate.isInitialized(booking.getBooker())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testFindSliceReturnsDetachedRows() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        persistBooking(item, booker, 3600, BookingStatus.WAITING);
+        persistBooking(item, booker, 7200, BookingStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> bookings = bookingRepository.findSlice(orderByStartDateDesc(hasBookerId(booker.getId())),
+                PageRequest.of(0, 10)).getContent();
+
+        assertEquals(2, bookings.size());
+        assertEquals(BookingStatus.APPROVED, bookings.get(0).getStatus());
+        assertEquals(item.getName(), bookings.get(0).getItem().getName());
+        assertEquals(owner.getEmail(), bookings.get(0).getItem().getOwner().getEmail());
+        assertEquals(booker.getEmail(), bookings.get(0).getBooker().getEmail());
+        assertTrue(bookings.get(0).getItem() == bookings.get(1).getItem());
+        assertFalse(entityManager.getEntityManager().contains(bookings.get(0)));
+        assertFalse(entityManager.getEntityManager().contains(bookings.get(0).getItem()));
+    }
+
+    @Test
+    public void testNextBookingDoesNotLoadItem() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        persistBooking(item, booker, 3600, BookingStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking next = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(item.getId(),
+                Timestamp.from(Instant.now()), BookingStatus.APPROVED).get();
+
+        assertFalse(Hibernate.isInitialized(next.getItem()));
+        assertFalse(Hibernate.isInitialized(next.getBooker()));
+        assertEquals(booker.getId(), next.getBooker().getId());
+    }
+
+    @Test
+    public void testApproveWaitingWithoutOverlapOnlyOnce() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        Booking first = persistBooking(item, booker, 3600, BookingStatus.WAITING);
+        Booking second = persistBooking(item, booker, 3600, BookingStatus.WAITING);
+        Booking third = persistBooking(item, booker, 7200, BookingStatus.WAITING);
+        entityManager.flush();
+
+        assertEquals(0, bookingRepository.approveWaitingWithoutOverlap(first.getId(), booker.getId()));
+        assertEquals(1, bookingRepository.approveWaitingWithoutOverlap(first.getId(), owner.getId()));
+        assertEquals(0, bookingRepository.approveWaitingWithoutOverlap(first.getId(), owner.getId()));
+        assertEquals(0, bookingRepository.approveWaitingWithoutOverlap(second.getId(), owner.getId()));
+        bookingRepository.findById(second.getId()).get().setStatus(BookingStatus.REJECTED);
+        entityManager.flush();
+        assertEquals(1, bookingRepository.approveWaitingWithoutOverlap(third.getId(), owner.getId()));
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(second.getId()).get().getStatus());
+    }
+
+    @Test
+    public void testFindByIdForUpdateFetchesItemOwnerAndBooker() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        User booker = createUser();
+        booker.setId(null);
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+        Item item = createItem();
+        item.setId(null);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        Booking booking = persistBooking(item, booker, 3600, BookingStatus.WAITING);
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking locked = bookingRepository.findByIdForUpdate(booking.getId()).get();
+
+        assertTrue(Hibernate.isInitialized(locked.getItem()));
+        assertTrue(Hibernate.isInitialized(locked.getItem().getOwner()));
+        assertTrue(Hibernate.isInitialized(locked.getBooker()));
+        assertEquals(owner.getId(), locked.getItem().getOwner().getId());
+    }
+
+    private Booking persistBooking(Item item, User booker, long startOffsetSeconds, BookingStatus status) {
+        Booking booking = createBooking();
+        booking.setId(null);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        booking.setStart(Timestamp.from(Instant.now().plusSeconds(startOffsetSeconds)));
+        booking.setEnd(Timestamp.from(Instant.now().plusSeconds(startOffsetSeconds + 600)));
+        return entityManager.persist(booking);
+    }
+
     private Booking createBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
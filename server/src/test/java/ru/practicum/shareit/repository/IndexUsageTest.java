@@ -0,0 +1,56 @@
+package ru.practicum.shareit.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.AppConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import(AppConfiguration.class)
+public class IndexUsageTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testBookingsByBookerUseBookerIndex() {
+        assertUsesIndex("select * from bookings where booker_id = 1 and start_date > localtimestamp " +
+                "order by start_date desc", "IX_BOOKINGS_BOOKER_START");
+    }
+
+    @Test
+    public void testLastBookingUsesItemIndex() {
+        assertUsesIndex("select * from bookings where item_id = 1 and start_date < localtimestamp " +
+                "order by start_date desc limit 1", "IX_BOOKINGS_ITEM_START");
+    }
+
+    @Test
+    public void testItemsByOwnerUseOwnerIndex() {
+        assertUsesIndex("select * from items where owner = 1 and id > 0 order by id", "IX_ITEMS_OWNER");
+    }
+
+    @Test
+    public void testRequestsByRequestorUseRequestorIndex() {
+        assertUsesIndex("select * from requests where requestor_id = 1 and created < localtimestamp " +
+                "order by created desc", "IX_REQUESTS_REQUESTOR_CREATED");
+    }
+
+    @Test
+    public void testRequestsKeysetPageUsesRequestorIndex() {
+        assertUsesIndex("select * from requests where requestor_id = 1 and created <= localtimestamp " +
+                "and (created < localtimestamp or id < 10) order by created desc, id desc limit 20",
+                "IX_REQUESTS_REQUESTOR_CREATED");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertTrue(plan.toUpperCase().contains(index), plan);
+    }
+}
@@ -1,27 +1,42 @@
 package ru.practicum.shareit.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.AppConfiguration;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentCount;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemKeywordSearch;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import({AppConfiguration.class, LikeItemKeywordSearch.class})
 public class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
@@ -29,6 +44,12 @@ public class ItemRepositoryTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private LikeItemKeywordSearch likeItemKeywordSearch;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Item item;
 
     private Comment comment;
@@ -41,17 +62,129 @@ public class ItemRepositoryTest {
 
     @Test
     public void testFindItemsByKeyword() {
-        List<Item> result = itemRepository.findItemsByKeyword("аккумуляторная",
+        List<Item> result = likeItemKeywordSearch.search("аккумуляторная",
                 PageRequest.of(0 / 9999, 9999));
         assertNotNull(result);
     }
 
+    @Test
+    public void testFindItemsByKeywordReturnsOnlyAvailableItems() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        Item available = createItem();
+        available.setId(null);
+        available.setName("Дрель");
+        available.setOwner(owner);
+        entityManager.persist(available);
+        Item unavailable = createItem();
+        unavailable.setId(null);
+        unavailable.setName("Дрель ударная");
+        unavailable.setAvailable(false);
+        unavailable.setOwner(owner);
+        entityManager.persist(unavailable);
+        Item byDescription = createItem();
+        byDescription.setId(null);
+        byDescription.setDescription("Аккумуляторная дрель");
+        byDescription.setOwner(owner);
+        entityManager.persist(byDescription);
+        entityManager.flush();
+
+        List<Item> result = likeItemKeywordSearch.search("дРелЬ", PageRequest.of(0, 10));
+        List<Item> firstPage = likeItemKeywordSearch.search("дрель", PageRequest.of(0, 1));
+
+        assertEquals(List.of(available.getId(), byDescription.getId()),
+                List.of(result.get(0).getId(), result.get(1).getId()));
+        assertEquals(2, result.size());
+        assertEquals(1, firstPage.size());
+    }
+
+    @Test
+    public void testCommentsPageLoadsAuthorsInOneQuery() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        Item first = createItem();
+        first.setId(null);
+        first.setOwner(owner);
+        entityManager.persist(first);
+        Item second = createItem();
+        second.setId(null);
+        second.setOwner(owner);
+        entityManager.persist(second);
+        for (int i = 0; i < 3; i++) {
+            User author = createUser();
+            author.setId(null);
+            author.setName("Author " + i);
+            author.setEmail("author" + i + "@example.com");
+            entityManager.persist(author);
+            entityManager.persist(new Comment(null, "Comment " + i, first, author, null,
+                    Timestamp.from(Instant.now())));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Slice<Comment> firstPage = commentRepository.findCommentsByItemId(first.getId(), 0L, PageRequest.of(0, 2));
+        List<String> authors = firstPage.stream()
+                .map(comment -> comment.getAuthor().getName())
+                .collect(Collectors.toList());
+        Slice<Comment> secondPage = commentRepository.findCommentsByItemId(first.getId(),
+                firstPage.getContent().get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of("Author 0", "Author 1"), authors);
+        assertTrue(firstPage.hasNext());
+        assertEquals(1, secondPage.getNumberOfElements());
+        assertFalse(secondPage.hasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+        assertEquals(3, commentRepository.countByItemId(first.getId()));
+        List<ItemCommentCount> counts = commentRepository.countByItemIds(List.of(first.getId(), second.getId()));
+        assertEquals(1, counts.size());
+        assertEquals(first.getId(), counts.get(0).getItemId());
+        assertEquals(3L, counts.get(0).getCount());
+    }
+
     @Test
     public void testGetItemsByRequest() {
         List<Item> result = itemRepository.findAllByRequestId(1L, PageRequest.of(0 / 9999, 9999));
         assertNotNull(result);
     }
 
+    @Test
+    public void testFindAllByRequestIdIn() {
+        User owner = createUser();
+        owner.setId(null);
+        entityManager.persist(owner);
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Request " + i);
+            request.setRequestor(owner);
+            request.setCreated(Timestamp.from(Instant.now()));
+            requests.add(entityManager.persist(request));
+        }
+        List<Long> expected = new ArrayList<>();
+        for (ItemRequest request : requests) {
+            Item requested = createItem();
+            requested.setId(null);
+            requested.setOwner(owner);
+            requested.setRequest(request);
+            entityManager.persist(requested);
+            if (request != requests.get(2)) {
+                expected.add(requested.getId());
+            }
+        }
+
+        List<Item> result = itemRepository.findAllByRequestIdInOrderById(List.of(requests.get(0).getId(),
+                requests.get(1).getId()));
+
+        assertEquals(expected, result.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
     private Booking createBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
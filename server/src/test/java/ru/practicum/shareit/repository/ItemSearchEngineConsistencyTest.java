@@ -0,0 +1,88 @@
+package ru.practicum.shareit.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.AppConfiguration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.LikeItemKeywordSearch;
+import ru.practicum.shareit.item.search.SqlItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import({AppConfiguration.class, LikeItemKeywordSearch.class})
+public class ItemSearchEngineConsistencyTest {
+    private static final List<String> QUERIES = List.of("дрель", "дРелЬ", "рель", "др", "и", "а", "ель и",
+            "ударная дрель", "дрель отвертка", "аккумулятор", "ОТВЕРТКА", "-", "молоток");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LikeItemKeywordSearch likeItemKeywordSearch;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ItemSearchEngine sqlEngine;
+
+    private InMemoryItemSearchEngine memoryEngine;
+
+    @BeforeEach
+    public void setup() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        entityManager.persist(owner);
+        persistItem(owner, "Дрель", "Простая дрель", true);
+        persistItem(owner, "Отвертка", "Аккумуляторная отвертка", true);
+        persistItem(owner, "Дрель ударная", "Мощная", false);
+        persistItem(owner, "Перфоратор", "Ударная дрель и перфоратор", true);
+        persistItem(owner, "Набор бит", "Биты для отвертки-шуруповерта", true);
+        entityManager.flush();
+        sqlEngine = new SqlItemSearchEngine(likeItemKeywordSearch, null);
+        memoryEngine = new InMemoryItemSearchEngine(itemRepository, null);
+        memoryEngine.rebuild();
+    }
+
+    @Test
+    public void testEnginesReturnSameItemsForSameQueries() {
+        for (String query : QUERIES) {
+            assertEquals(ids(sqlEngine.search(query, PageRequest.of(0, 10))),
+                    ids(memoryEngine.search(query, PageRequest.of(0, 10))), query);
+            assertEquals(ids(sqlEngine.search(query, PageRequest.of(1, 1))),
+                    ids(memoryEngine.search(query, PageRequest.of(1, 1))), query);
+        }
+        assertFalse(memoryEngine.search("рель", Pageable.unpaged()).isEmpty());
+    }
+
+    private void persistItem(User owner, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        entityManager.persist(item);
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.AppConfiguration;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import(AppConfiguration.class)
+public class RequestRepositoryTest {
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void testPagesAreOrderedByCreatedDesc() {
+        User requestor = createUser("requestor@example.com");
+        User other = createUser("other@example.com");
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<ItemRequest> requests = new ArrayList<>();
+        requests.add(createRequest(requestor, now.minusDays(2)));
+        requests.add(createRequest(requestor, now));
+        requests.add(createRequest(requestor, now));
+        requests.add(createRequest(requestor, now.minusDays(1)));
+        createRequest(other, now);
+
+        List<Long> expected = List.of(requests.get(2).getId(), requests.get(1).getId(), requests.get(3).getId(),
+                requests.get(0).getId());
+
+        assertEquals(expected.subList(2, 4), ids(requestRepository.findAllByRequestorId(requestor.getId(),
+                PageRequest.of(1, 2))));
+
+        Slice<ItemRequest> first = requestRepository.findSliceByRequestorId(requestor.getId(), PageRequest.of(0, 2));
+        assertEquals(expected.subList(0, 2), ids(first.getContent()));
+        assertTrue(first.hasNext());
+
+        ItemRequest last = first.getContent().get(1);
+        Slice<ItemRequest> second = requestRepository.findSliceByRequestorIdBefore(requestor.getId(),
+                last.getCreated(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(expected.subList(2, 4), ids(second.getContent()));
+        assertFalse(second.hasNext());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Example");
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+
+    private ItemRequest createRequest(User requestor, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Example request");
+        request.setRequestor(requestor);
+        request.setCreated(Timestamp.valueOf(created));
+        return entityManager.persist(request);
+    }
+
+    private static List<Long> ids(List<ItemRequest> requests) {
+        return requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,237 @@
+package ru.practicum.shareit.service;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.booking.model.BookingSavedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingEventStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingEventStreamTest {
+    private final JsonMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookingEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stream = new BookingEventStream(objectMapper, meterRegistry, 2, 60_000, 60_000, 60_000);
+    }
+
+    @Test
+    void testBookerAndOwnerReceiveBookingEvents() throws Exception {
+        Connection booker = subscribe(1L);
+        Connection owner = subscribe(2L);
+        Connection other = subscribe(3L);
+        assertEquals(3, stream.getSubscriberCount());
+        assertEquals("text/event-stream;charset=UTF-8", booker.response.getContentType());
+        assertTrue(booker.out.flushed);
+
+        stream.onBookingSaved(createEvent(5L, BookingStatus.APPROVED));
+
+        assertTrue(booker.content().startsWith("event:booking\ndata:{\"id\":5,\"itemId\":7,\"bookerId\":1,"
+                + "\"ownerId\":2,\"status\":\"APPROVED\""));
+        assertTrue(booker.content().endsWith("}\n\n"));
+        assertTrue(owner.content().contains("\"status\":\"APPROVED\""));
+        assertEquals("", other.content());
+        stream.heartbeat();
+        assertEquals(":heartbeat\n\n", other.content());
+    }
+
+    @Test
+    void testEventsAreDeliveredInOrder() throws Exception {
+        Connection booker = subscribe(1L);
+
+        stream.onBookingSaved(createEvent(5L, BookingStatus.WAITING));
+        stream.onBookingSaved(createEvent(5L, BookingStatus.REJECTED));
+
+        String events = booker.content();
+        assertTrue(events.indexOf("WAITING") < events.indexOf("REJECTED"));
+    }
+
+    @Test
+    void testEventsWaitUntilSocketIsWritable() throws Exception {
+        Connection booker = subscribe(1L);
+        booker.out.ready = false;
+
+        stream.onBookingSaved(createEvent(5L, BookingStatus.WAITING));
+        stream.heartbeat();
+        assertEquals("", booker.content());
+
+        booker.writable();
+
+        assertTrue(booker.content().startsWith("event:booking\n"));
+        assertFalse(booker.content().contains(":heartbeat"));
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotDelayOthers() throws Exception {
+        Connection stalled = subscribe(1L);
+        Connection owner = subscribe(2L);
+        stalled.out.ready = false;
+
+        for (long id = 1; id <= 5; id++) {
+            stream.onBookingSaved(createEvent(id, BookingStatus.WAITING));
+            assertTrue(owner.content().contains("\"id\":" + id + ","));
+        }
+
+        assertEquals("", stalled.content());
+        assertFalse(stalled.request.isAsyncStarted());
+        assertEquals(1, stream.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("bookings.stream.overflows").counter().count());
+        assertEquals(1.0, meterRegistry.get("bookings.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void testStalledSubscriberIsClosedAfterWriteTimeout() throws Exception {
+        stream = new BookingEventStream(objectMapper, meterRegistry, 2, 60_000, 60_000, 10);
+        Connection stalled = subscribe(1L);
+        Connection recovered = subscribe(2L);
+        stalled.out.ready = false;
+        recovered.out.ready = false;
+        stream.onBookingSaved(createEvent(5L, BookingStatus.WAITING));
+
+        Thread.sleep(20);
+        recovered.writable();
+        stream.heartbeat();
+
+        assertFalse(stalled.request.isAsyncStarted());
+        assertTrue(recovered.request.isAsyncStarted());
+        assertTrue(recovered.content().contains("\"id\":5,"));
+        assertEquals(1, stream.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("bookings.stream.write-timeouts").counter().count());
+    }
+
+    @Test
+    void testHeartbeatRunsOnOwnScheduler() throws Exception {
+        stream = new BookingEventStream(objectMapper, meterRegistry, 2, 60_000, 10, 60_000);
+        Connection booker = subscribe(1L);
+
+        stream.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!booker.content().contains(":heartbeat") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            stream.shutdown();
+        }
+
+        assertTrue(booker.content().startsWith(":heartbeat\n\n"));
+        assertEquals(0, stream.getSubscriberCount());
+    }
+
+    @Test
+    void testCompletedConnectionIsUnsubscribed() throws Exception {
+        Connection booker = subscribe(1L);
+
+        booker.request.getAsyncContext().complete();
+        stream.onBookingSaved(createEvent(5L, BookingStatus.WAITING));
+
+        assertEquals(0, stream.getSubscriberCount());
+        assertEquals("", booker.content());
+    }
+
+    private Connection subscribe(Long userId) throws Exception {
+        Connection connection = new Connection();
+        stream.subscribe(userId, connection.request, connection.response);
+        connection.writable();
+        return connection;
+    }
+
+    private static BookingSavedEvent createEvent(Long id, BookingStatus status) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        return new BookingSavedEvent(id, 7L, 1L, 2L, status, start, start.plusDays(1));
+    }
+
+    private static class Connection {
+        private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+        private final TestOutputStream out = new TestOutputStream();
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return out;
+            }
+        };
+
+        Connection() {
+            request.setAsyncSupported(true);
+        }
+
+        void writable() throws IOException {
+            out.ready = true;
+            out.listener.onWritePossible();
+        }
+
+        String content() {
+            return new String(out.content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class TestOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private WriteListener listener;
+
+        private boolean ready;
+
+        private boolean flushed;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+
+        @Override
+        public void write(int b) {
+            checkReady();
+            content.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            checkReady();
+            content.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            checkReady();
+            flushed = true;
+        }
+
+        private void checkReady() {
+            if (!ready) {
+                throw new IllegalStateException("Write while the stream is not ready");
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingPartitionRepository;
+import ru.practicum.shareit.booking.service.BookingPartitionService;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingPartitionServiceTest {
+    @Mock
+    private BookingPartitionRepository partitionRepository;
+
+    private BookingPartitionService partitionService;
+
+    @BeforeEach
+    public void setup() {
+        partitionService = new BookingPartitionService(partitionRepository, 2, 12);
+    }
+
+    @Test
+    void testCreateOnlyMissingPartitions() {
+        YearMonth month = YearMonth.of(2026, 11);
+        when(partitionRepository.findMonthlyPartitions())
+                .thenReturn(List.of(month.minusMonths(1), month));
+
+        partitionService.createPartitions(month);
+
+        verify(partitionRepository, never()).createPartition(month);
+        verify(partitionRepository, times(1)).createPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository, times(1)).createPartition(YearMonth.of(2027, 1));
+        verify(partitionRepository, times(2)).createPartition(any(YearMonth.class));
+    }
+
+    @Test
+    void testArchiveStopsAtPartitionWithOngoingBookings() {
+        YearMonth first = YearMonth.of(2025, 1);
+        when(partitionRepository.findMonthlyPartitions())
+                .thenReturn(List.of(first, first.plusMonths(1), first.plusMonths(2), first.plusMonths(3)));
+        when(partitionRepository.hasOngoingBookings(any(YearMonth.class)))
+                .thenReturn(false, false, true);
+
+        partitionService.archivePartitions(first.plusMonths(3));
+
+        InOrder inOrder = inOrder(partitionRepository);
+        inOrder.verify(partitionRepository).addArchiveBoundCheck(List.of(first, first.plusMonths(1)));
+        inOrder.verify(partitionRepository).archivePartitions(List.of(first, first.plusMonths(1)));
+    }
+
+    @Test
+    void testArchiveNothingBeforeCutoff() {
+        YearMonth first = YearMonth.of(2025, 1);
+        when(partitionRepository.findMonthlyPartitions())
+                .thenReturn(List.of(first, first.plusMonths(1)));
+
+        partitionService.archivePartitions(first);
+
+        verify(partitionRepository, never()).hasOngoingBookings(any(YearMonth.class));
+        verify(partitionRepository, never()).addArchiveBoundCheck(anyList());
+        verify(partitionRepository, never()).archivePartitions(anyList());
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.error.exception.UnavailableItemException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        owner = userRepository.save(createUser("owner@concurrency.com"));
+        booker = userRepository.save(createUser("booker@concurrency.com"));
+        item = new Item();
+        item.setName("Example");
+        item.setDescription("Example text");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        bookingRepository.deleteAll(bookingsOfItem());
+        itemRepository.delete(item);
+        userRepository.delete(booker);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    public void testOnlyOneOverlappingBookingIsApproved() throws Exception {
+        Instant start = Instant.now().plusSeconds(3600);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long shift = i * 60L;
+            results.add(executor.submit(() -> {
+                startGate.await();
+                try {
+                    Booking booking = bookingService.addBooking(booker.getId(), createBooking(start.plusSeconds(shift),
+                            start.plusSeconds(shift + 3600)));
+                    bookingService.setBookingStatus(owner.getId(), booking.getId(), true);
+                    return true;
+                } catch (UnavailableItemException e) {
+                    return false;
+                }
+            }));
+        }
+        startGate.countDown();
+        int approved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                approved++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, approved);
+        assertEquals(1, bookingsOfItem().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private List<Booking> bookingsOfItem() {
+        List<Booking> result = new ArrayList<>();
+        bookingRepository.findAll().forEach(booking -> {
+            if (booking.getItem().getId().equals(item.getId())) {
+                result.add(booking);
+            }
+        });
+        return result;
+    }
+
+    private Booking createBooking(Instant start, Instant end) {
+        Booking booking = new Booking();
+        booking.setStart(Timestamp.from(start));
+        booking.setEnd(Timestamp.from(end));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        return booking;
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Example");
+        user.setEmail(email);
+        return user;
+    }
+}
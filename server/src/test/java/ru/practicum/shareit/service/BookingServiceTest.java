@@ -7,11 +7,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingSavedEvent;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -30,13 +34,19 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +63,9 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Booking booking;
 
     private User user;
@@ -72,7 +85,10 @@ public class BookingServiceTest {
 
     @Test
     void testAddBooking() {
-        when(itemRepository.findById(anyLong()))
+        Item requested = new Item();
+        requested.setId(item.getId());
+        booking.setItem(requested);
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -80,12 +96,33 @@ public class BookingServiceTest {
         Booking savedBooking = bookingService.addBooking(1L, booking);
 
         assertEquals(booking.getId(), 1L);
+        assertSame(item, booking.getItem());
+        verify(eventPublisher).publishEvent(argThat((BookingSavedEvent event) -> event.getId() == 1L
+                && event.getStatus() == BookingStatus.WAITING && event.getOwnerId() == 2L));
     }
 
     @Test
     void testAddBookingWithError1() {
         item.setAvailable(false);
         booking.setItem(item);
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.addBooking(1L, booking));
+
+        assertEquals("Item is not available", exception.getMessage());
+    }
+
+    @Test
+    void testAddBookingChecksLockedItem() {
+        Item requested = new Item();
+        requested.setId(item.getId());
+        requested.setAvailable(true);
+        booking.setItem(requested);
+        item.setAvailable(false);
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
 
         UnavailableItemException exception = assertThrows(UnavailableItemException.class,
                 () -> bookingService.addBooking(1L, booking));
@@ -99,6 +136,8 @@ public class BookingServiceTest {
         booking.setItem(item);
         booking.setStart(Timestamp.from(Instant.now().plusSeconds(3600)));
         booking.setEnd(Timestamp.from(Instant.now().plusSeconds(1800)));
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
 
         EndBeforeStartException exception = assertThrows(EndBeforeStartException.class,
                 () -> bookingService.addBooking(1L, booking));
@@ -113,7 +152,7 @@ public class BookingServiceTest {
         booking.setItem(item);
         booking.setStart(Timestamp.from(Instant.now().plusSeconds(3600)));
         booking.setEnd(Timestamp.from(Instant.now().plusSeconds(7200)));
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
 
         BookingByOwnerException exception = assertThrows(BookingByOwnerException.class,
@@ -129,7 +168,7 @@ public class BookingServiceTest {
         booking.setItem(item);
         booking.setStart(Timestamp.from(Instant.now().plusSeconds(3600)));
         booking.setEnd(Timestamp.from(Instant.now().plusSeconds(7200)));
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
 
         UnknownIdException exception = assertThrows(UnknownIdException.class,
@@ -138,6 +177,20 @@ public class BookingServiceTest {
         assertTrue(exception.getClass().equals(UnknownIdException.class));
     }
 
+    @Test
+    void testAddBookingWithOverlap() {
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyLong(),
+                any(BookingStatus.class), any(Timestamp.class), any(Timestamp.class)))
+                .thenReturn(true);
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.addBooking(1L, booking));
+
+        assertEquals("Item is already booked for these dates", exception.getMessage());
+    }
+
     @Test
     void testGetBooking() {
         item.getOwner().setId(1L);
@@ -194,88 +247,94 @@ public class BookingServiceTest {
     @Test
     void testSetBookingStatus() {
         item.getOwner().setId(1L);
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.of(item));
-        when(userRepository.existsById(anyLong()))
-                .thenReturn(true);
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.approveWaitingWithoutOverlap(anyLong(), anyLong()))
+                .thenReturn(1);
 
         Booking savedBooking = bookingService.setBookingStatus(1L, 1L, true);
 
-        assertEquals(booking.getId(), 1L);
+        assertEquals(savedBooking.getId(), 1L);
+        assertEquals(BookingStatus.APPROVED, savedBooking.getStatus());
+        verify(bookingRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(any(BookingSavedEvent.class));
     }
 
     @Test
-    void testSetBookingStatusWithError1() {
+    void testSetBookingStatusRejected() {
         item.getOwner().setId(1L);
-        when(bookingRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(booking));
 
-        UnknownIdException exception = assertThrows(UnknownIdException.class,
-                () -> bookingService.setBookingStatus(1L, 1L, true));
+        Booking savedBooking = bookingService.setBookingStatus(1L, 1L, false);
 
-        assertTrue(exception.getClass().equals(UnknownIdException.class));
+        assertEquals(savedBooking.getId(), 1L);
+        assertEquals(BookingStatus.REJECTED, savedBooking.getStatus());
+        verify(bookingRepository, never()).approveWaitingWithoutOverlap(anyLong(), anyLong());
+        verify(bookingRepository, never()).findById(anyLong());
     }
 
     @Test
-    void testSetBookingStatusWithError2() {
+    void testSetBookingStatusWithOverlap() {
         item.getOwner().setId(1L);
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
-                .thenReturn(false);
+        when(bookingRepository.approveWaitingWithoutOverlap(anyLong(), anyLong()))
+                .thenReturn(0);
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.setBookingStatus(1L, 1L, true));
+
+        assertEquals("Item is already booked for these dates", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(BookingSavedEvent.class));
+    }
+
+    @Test
+    void testSetBookingStatusWithError1() {
+        when(bookingRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.empty());
 
         UnknownIdException exception = assertThrows(UnknownIdException.class,
                 () -> bookingService.setBookingStatus(1L, 1L, true));
 
-        assertEquals("Id not found", exception.getMessage());
+        assertTrue(exception.getClass().equals(UnknownIdException.class));
     }
 
     @Test
-    void testSetBookingStatusWithError3() {
-        item.getOwner().setId(1L);
-        when(bookingRepository.findById(anyLong()))
+    void testSetBookingStatusWithError2() {
+        item.getOwner().setId(2L);
+        when(bookingRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(booking));
         when(userRepository.existsById(anyLong()))
-                .thenReturn(true);
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+                .thenReturn(false);
 
         UnknownIdException exception = assertThrows(UnknownIdException.class,
                 () -> bookingService.setBookingStatus(1L, 1L, true));
 
-        assertTrue(exception.getClass().equals(UnknownIdException.class));
+        assertEquals("Id not found", exception.getMessage());
     }
 
     @Test
     void testSetBookingStatusWithError4() {
         item.getOwner().setId(2L);
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(booking));
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.of(item));
 
         IllegalUserException exception = assertThrows(IllegalUserException.class,
                 () -> bookingService.setBookingStatus(1L, 1L, true));
 
         assertEquals("Wrong user id provided", exception.getMessage());
+        verify(bookingRepository, never()).approveWaitingWithoutOverlap(anyLong(), anyLong());
     }
 
     @Test
     void testSetBookingStatusWithError5() {
         item.getOwner().setId(1L);
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
-                .thenReturn(true);
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.of(item));
 
         UnavailableItemException exception = assertThrows(UnavailableItemException.class,
                 () -> bookingService.setBookingStatus(1L, 1L, true));
@@ -283,12 +342,25 @@ public class BookingServiceTest {
         assertEquals("Booking already approved", exception.getMessage());
     }
 
+    @Test
+    void testSetBookingStatusWithError6() {
+        item.getOwner().setId(1L);
+        booking.setStatus(BookingStatus.REJECTED);
+        when(bookingRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.setBookingStatus(1L, 1L, false));
+
+        assertEquals("Booking already rejected", exception.getMessage());
+    }
+
     @Test
     void testAllUserBookingsByState() {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(new PageImpl(new ArrayList<Booking>()));
+        when(bookingRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<Booking>()));
 
         List<Booking> savedBookings1 = bookingService.getAllUserBookingsByState(1L, "ALL", PageRequest.of(0 / 9999, 9999));
         List<Booking> savedBookings2 = bookingService.getAllUserBookingsByState(1L, "CURRENT", PageRequest.of(0 / 9999, 9999));
@@ -305,6 +377,23 @@ public class BookingServiceTest {
         Assertions.assertNotNull(savedBookings6);
     }
 
+    @Test
+    void testAllUserBookingsByStateWithCursor() {
+        BookingCursor cursor = BookingCursor.of(booking);
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> savedBookings1 = bookingService.getAllUserBookingsByState(1L, "ALL", null, 10);
+        Slice<Booking> savedBookings2 = bookingService.getAllUserBookingsByState(1L, "WAITING", cursor, 10);
+        Slice<Booking> savedBookings3 = bookingService.getAllOwnerBookingsByState(1L, "PAST", cursor, 10);
+
+        assertEquals(1, savedBookings1.getNumberOfElements());
+        assertEquals(1, savedBookings2.getNumberOfElements());
+        assertEquals(1, savedBookings3.getNumberOfElements());
+    }
+
     @Test
     void testAllUserBookingsByStateWithError1() {
         WrongStateException exception = assertThrows(WrongStateException.class,
@@ -329,8 +418,8 @@ public class BookingServiceTest {
     void testAllOwnerBookingsByState() {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(new PageImpl(new ArrayList<Booking>()));
+        when(bookingRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<Booking>()));
 
         List<Booking> savedBookings1 = bookingService.getAllOwnerBookingsByState(1L, "ALL", PageRequest.of(0 / 9999, 9999));
         List<Booking> savedBookings2 = bookingService.getAllOwnerBookingsByState(1L, "CURRENT", PageRequest.of(0 / 9999, 9999));
@@ -369,10 +458,8 @@ public class BookingServiceTest {
 
     @Test
     void testGetLastBooking() {
-        List<Booking> result = new ArrayList<>();
-        result.add(booking);
-        when(bookingRepository.findAll(any(Specification.class)))
-                .thenReturn(result);
+        when(bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(anyLong(), any(Timestamp.class)))
+                .thenReturn(Optional.of(booking));
 
         Optional<Booking> savedBooking = bookingService.getLastBooking(1L);
 
@@ -381,16 +468,43 @@ public class BookingServiceTest {
 
     @Test
     void testGetNextBooking() {
-        List<Booking> result = new ArrayList<>();
-        result.add(booking);
-        when(bookingRepository.findAll(any(Specification.class)))
-                .thenReturn(result);
+        when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(anyLong(),
+                any(Timestamp.class), any(BookingStatus.class)))
+                .thenReturn(Optional.of(booking));
 
         Optional<Booking> savedBooking = bookingService.getNextBooking(1L);
 
         assertEquals(booking.getId(), 1L);
     }
 
+    @Test
+    void testGetLastBookings() {
+        when(bookingRepository.findLastBookingsByItemIds(any(), any(Timestamp.class)))
+                .thenReturn(List.of(booking));
+
+        Map<Long, Booking> result = bookingService.getLastBookings(List.of(1L, 2L));
+
+        assertEquals(1, result.size());
+        assertEquals(booking, result.get(1L));
+    }
+
+    @Test
+    void testGetNextBookings() {
+        when(bookingRepository.findNextBookingsByItemIds(any(), any(Timestamp.class)))
+                .thenReturn(List.of(booking));
+
+        Map<Long, Booking> result = bookingService.getNextBookings(List.of(1L));
+
+        assertEquals(booking, result.get(1L));
+    }
+
+    @Test
+    void testGetLastBookingsWithEmptyIds() {
+        Map<Long, Booking> result = bookingService.getLastBookings(new ArrayList<>());
+
+        assertTrue(result.isEmpty());
+    }
+
     private Booking createBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
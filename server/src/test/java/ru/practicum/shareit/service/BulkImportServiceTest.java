@@ -0,0 +1,228 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.bulk.dto.BulkImportError;
+import ru.practicum.shareit.bulk.dto.BulkImportReport;
+import ru.practicum.shareit.bulk.service.BulkImportService;
+import ru.practicum.shareit.error.exception.UnknownIdException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.bulk.chunk-size=2")
+public class BulkImportServiceTest {
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        owner = userRepository.save(createUser("owner@bulk.com"));
+        booker = userRepository.save(createUser("booker@bulk.com"));
+        item = new Item();
+        item.setName("Bulk drill");
+        item.setDescription("Drill for bulk bookings");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        List<Item> items = itemRepository.findAllByOwnerIdOrderById(owner.getId(), Pageable.unpaged());
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        List<Booking> bookings = new ArrayList<>();
+        bookingRepository.findAll().forEach(booking -> {
+            if (itemIds.contains(booking.getItem().getId())) {
+                bookings.add(booking);
+            }
+        });
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteAll(items);
+        userRepository.findAll().stream()
+                .filter(user -> user.getEmail().endsWith("@bulk.com"))
+                .forEach(userRepository::delete);
+    }
+
+    @Test
+    public void testImportUsersReportsRowErrors() {
+        BulkImportReport report = bulkImportService.importUsers(ndjson(
+                "{\"name\": \"First\", \"email\": \"first@bulk.com\"}",
+                "{\"name\": \"Owner\", \"email\": \"owner@bulk.com\"}",
+                "",
+                "{\"name\": \"Broken\"",
+                "{\"name\": \"Second\", \"email\": \"second@bulk.com\"}",
+                "{\"name\": \"First again\", \"email\": \"first@bulk.com\"}",
+                "{\"email\": \"nameless@bulk.com\"}"));
+
+        assertEquals(6, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getFailed());
+        assertEquals(List.of(2L, 4L, 6L, 7L), lines(report));
+        assertEquals("Email already registered", report.getErrors().get(0).getError());
+        assertTrue(report.getErrors().get(1).getError().startsWith("Malformed row"));
+        assertEquals("Email already registered", report.getErrors().get(2).getError());
+        assertEquals("Name field cannot be empty", report.getErrors().get(3).getError());
+        assertEquals("First", userRepository.findByEmail("first@bulk.com").orElseThrow().getName());
+        assertEquals("Second", userRepository.findByEmail("second@bulk.com").orElseThrow().getName());
+    }
+
+    @Test
+    public void testImportItemsInsertsValidRowsAndIndexesThem() {
+        BulkImportReport report = bulkImportService.importItems(owner.getId(), ndjson(
+                "{\"name\": \"Bulk hammer\", \"description\": \"Heavy\", \"available\": true}",
+                "{\"name\": \"\", \"description\": \"Nameless\", \"available\": true}",
+                "{\"name\": \"Bulk saw\", \"description\": \"Sharp\", \"available\": true, \"requestId\": 999999}",
+                "{\"name\": \"Bulk ladder\", \"description\": \"Tall\"}",
+                "{\"name\": \"Bulk hammock\", \"description\": \"Soft\", \"available\": true}"));
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L, 3L, 4L), lines(report));
+        assertEquals("Id not found", report.getErrors().get(1).getError());
+        List<String> names = itemRepository.findAllByOwnerIdOrderById(owner.getId(), Pageable.unpaged()).stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("Bulk drill", "Bulk hammer", "Bulk hammock"), names);
+        assertEquals(List.of("Bulk hammer", "Bulk hammock"), itemService.suggestItemNames("bulk ham", 10));
+    }
+
+    @Test
+    public void testImportBookingsAppliesBookingRules() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking approved = new Booking();
+        approved.setStart(Timestamp.valueOf(start.plusDays(10)));
+        approved.setEnd(Timestamp.valueOf(start.plusDays(12)));
+        approved.setItem(item);
+        approved.setBooker(booker);
+        approved.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(approved);
+
+        BulkImportReport report = bulkImportService.importBookings(booker.getId(), ndjson(
+                booking(item.getId(), start, start.plusDays(1)),
+                booking(999999L, start, start.plusDays(1)),
+                booking(item.getId(), start.plusDays(1), start),
+                booking(item.getId(), start.plusDays(11), start.plusDays(13)),
+                booking(item.getId(), start.plusDays(2), start.plusDays(3))));
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L, 3L, 4L), lines(report));
+        assertEquals(List.of("Id not found", "Incorrect end date provided", "Item is already booked for these dates"),
+                report.getErrors().stream().map(BulkImportError::getError).collect(Collectors.toList()));
+
+        BulkImportReport ownerReport = bulkImportService.importBookings(owner.getId(), ndjson(
+                booking(item.getId(), start.plusDays(5), start.plusDays(6))));
+
+        assertEquals(0, ownerReport.getImported());
+        assertEquals("Booking by owner attempt", ownerReport.getErrors().get(0).getError());
+    }
+
+    @Test
+    public void testImportBookingsWaitsForConcurrentApproval() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> approval = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            Booking approved = new Booking();
+            approved.setStart(Timestamp.valueOf(start));
+            approved.setEnd(Timestamp.valueOf(start.plusDays(2)));
+            approved.setItem(itemRepository.findByIdForUpdate(item.getId()).orElseThrow());
+            approved.setBooker(booker);
+            approved.setStatus(BookingStatus.APPROVED);
+            bookingRepository.saveAndFlush(approved);
+            locked.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            BulkImportReport report = bulkImportService.importBookings(booker.getId(), ndjson(
+                    booking(item.getId(), start.plusDays(1), start.plusDays(3))));
+
+            approval.get(10, TimeUnit.SECONDS);
+            assertEquals(0, report.getImported());
+            assertEquals("Item is already booked for these dates", report.getErrors().get(0).getError());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testImportForUnknownUserFails() {
+        assertThrows(UnknownIdException.class, () -> bulkImportService.importItems(999999L, ndjson(
+                "{\"name\": \"Bulk hammer\", \"description\": \"Heavy\", \"available\": true}")));
+    }
+
+    private static String booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return "{\"itemId\": " + itemId + ", \"start\": \"" + start + "\", \"end\": \"" + end + "\"}";
+    }
+
+    private static List<Long> lines(BulkImportReport report) {
+        return report.getErrors().stream().map(BulkImportError::getLine).collect(Collectors.toList());
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static User createUser(String email) {
+        User user = new User();
+        user.setName("Example");
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSimilaritySearch;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemSimilaritySearch itemSimilaritySearch;
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    public void setup() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository, itemSimilaritySearch);
+        when(itemRepository.streamIndexEntries())
+                .thenReturn(Stream.of(createItem(1L, "Дрель", "Простая дрель", true),
+                        createItem(2L, "Отвертка", "Аккумуляторная отвертка", true),
+                        createItem(3L, "Дрель ударная", "Мощная", false),
+                        createItem(4L, "Перфоратор", "Ударная дрель и перфоратор", true)).map(ItemIndexEntry::of));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void testSearchBySubstringReturnsOnlyAvailableItems() {
+        assertEquals(List.of(1L, 4L), ids(searchEngine.search("дРЕл", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 4L), ids(searchEngine.search("рель", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(searchEngine.search("аккумулятор", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testSearchMatchesWholePhrase() {
+        assertEquals(List.of(4L), ids(searchEngine.search("ударная дрель", PageRequest.of(0, 10))));
+        assertTrue(searchEngine.search("дрель отвертка", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testShortQueriesMatchSubstrings() {
+        assertEquals(List.of(1L, 4L), ids(searchEngine.search("др", PageRequest.of(0, 10))));
+        assertEquals(List.of(4L), ids(searchEngine.search("и", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testSearchPaginates() {
+        assertEquals(List.of(4L), ids(searchEngine.search("дрель", PageRequest.of(1, 1))));
+    }
+
+    @Test
+    void testSavedItemIsReindexed() {
+        searchEngine.onItemSaved(new ItemSavedEvent(createItem(1L, "Молоток", "Тяжелый", true)));
+        searchEngine.onItemSaved(new ItemSavedEvent(createItem(3L, "Дрель ударная", "Мощная", true)));
+
+        assertEquals(List.of(1L), ids(searchEngine.search("молоток", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L, 4L), ids(searchEngine.search("дрель", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testSimilarSearchIsDelegated() {
+        List<Item> similar = List.of(createItem(1L, "Дрель", "Простая дрель", true));
+        when(itemSimilaritySearch.search("дрепь", PageRequest.of(0, 10))).thenReturn(similar);
+
+        assertEquals(similar, searchEngine.searchSimilar("дрепь", PageRequest.of(0, 10)));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        User owner = new User();
+        owner.setId(1L);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+}
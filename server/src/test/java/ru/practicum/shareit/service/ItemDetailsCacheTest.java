@@ -0,0 +1,110 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class ItemDetailsCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicLong clock;
+
+    private AtomicInteger loads;
+
+    private ItemDetailsCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        loads = new AtomicInteger();
+        cache = new ItemDetailsCache(meterRegistry, 2, 60, clock::get);
+    }
+
+    @Test
+    void testReturnsIndependentCopiesOfCachedItem() {
+        Item first = load(1L);
+        first.setOwnerRequest(true);
+        Item second = load(1L);
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertFalse(second.isOwnerRequest());
+        assertEquals("Автор", second.getComments().get(0).getAuthorName());
+        assertEquals(0.5, meterRegistry.get("items.details.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void testEvictsByTtlAndSize() {
+        load(1L);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        load(2L);
+        load(1L);
+        load(3L);
+        load(1L);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(1, meterRegistry.counter("items.details.cache.evictions", "cause", "expired").count());
+        assertEquals(1, meterRegistry.counter("items.details.cache.evictions", "cause", "size").count());
+    }
+
+    @Test
+    void testInvalidatesOnItemUpdateAndNewComment() {
+        load(1L);
+        load(2L);
+
+        cache.onItemSaved(new ItemSavedEvent(createItem(1L)));
+        Comment comment = new Comment();
+        comment.setItem(createItem(2L));
+        cache.onCommentSaved(new CommentSavedEvent(comment));
+        load(1L);
+        load(2L);
+
+        assertEquals(4, loads.get());
+    }
+
+    private Item load(Long id) {
+        return cache.get(id, () -> {
+            loads.incrementAndGet();
+            return createItem(id);
+        });
+    }
+
+    private Item createItem(Long id) {
+        User owner = new User();
+        owner.setId(1L);
+        User author = new User();
+        author.setId(2L);
+        author.setName("Автор");
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setText("Отличная");
+        comment.setAuthor(author);
+        comment.setAuthorName(author.getName());
+        comment.setItem(item);
+        item.setComments(List.of(comment));
+        return item;
+    }
+}
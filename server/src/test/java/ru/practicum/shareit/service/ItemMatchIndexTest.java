@@ -0,0 +1,79 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemMatchIndex;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemMatchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemMatchIndex matchIndex;
+
+    @BeforeEach
+    public void setup() {
+        matchIndex = new ItemMatchIndex(itemRepository);
+        when(itemRepository.streamIndexEntries())
+                .thenReturn(Stream.of(createItem(1L, 1L, "Дрель", "Простая дрель", true),
+                        createItem(2L, 2L, "Отвертка", "Аккумуляторная отвертка", true),
+                        createItem(3L, 2L, "Дрель ударная", "Мощная", false),
+                        createItem(4L, 3L, "Перфоратор", "Ударная дрель и перфоратор", true)).map(ItemIndexEntry::of));
+        matchIndex.rebuild();
+    }
+
+    @Test
+    void testMatchRanksByMatchedTokens() {
+        assertEquals(List.of(4L, 1L), ids(matchIndex.match("Нужна ударная дрель", 5L, 10)));
+        assertEquals(List.of(4L), ids(matchIndex.match("Нужна ударная дрель", 5L, 1)));
+        assertTrue(matchIndex.match("Нужен молоток", 5L, 10).isEmpty());
+    }
+
+    @Test
+    void testMatchSkipsRequestorItems() {
+        assertEquals(List.of(4L), ids(matchIndex.match("дрель", 1L, 10)));
+        assertEquals(3L, matchIndex.match("дрель", 1L, 10).get(0).getOwner().getId());
+    }
+
+    @Test
+    void testSavedItemIsReindexed() {
+        matchIndex.onItemSaved(new ItemSavedEvent(createItem(1L, 1L, "Молоток", "Тяжелый", true)));
+        matchIndex.onItemSaved(new ItemSavedEvent(createItem(3L, 2L, "Дрель ударная", "Мощная", true)));
+        matchIndex.onItemSaved(new ItemSavedEvent(createItem(4L, 3L, "Перфоратор", "Ударный", false)));
+
+        assertEquals(List.of(1L), ids(matchIndex.match("молоток", 5L, 10)));
+        assertEquals(List.of(3L), ids(matchIndex.match("дрель", 5L, 10)));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private Item createItem(Long id, Long ownerId, String name, String description, boolean available) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+}
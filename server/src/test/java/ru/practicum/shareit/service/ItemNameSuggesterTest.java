@@ -0,0 +1,80 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemNameSuggesterTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    public void setup() {
+        suggester = new ItemNameSuggester(itemRepository, 3);
+        when(itemRepository.streamIndexEntries())
+                .thenReturn(Stream.of(createItem(1L, "Дрель", true),
+                        createItem(2L, "Дрель ударная", true),
+                        createItem(3L, "дрель", true),
+                        createItem(4L, "Древесный уголь", true),
+                        createItem(5L, "Дрезина", false),
+                        createItem(6L, "Доска", true),
+                        createItem(7L, "Дрожжи", true)).map(ItemIndexEntry::of));
+        suggester.rebuild();
+    }
+
+    @Test
+    void testSuggestRanksByItemCountThenName() {
+        assertEquals(List.of("Дрель", "Древесный уголь", "Дрель ударная"), suggester.suggest("ДР", 10));
+        assertEquals(List.of("Дрель", "Древесный уголь"), suggester.suggest("дре", 2));
+        assertEquals(List.of("Дрель ударная"), suggester.suggest("дрель у", 10));
+        assertTrue(suggester.suggest("дрезина", 10).isEmpty());
+        assertTrue(suggester.suggest("молоток", 10).isEmpty());
+    }
+
+    @Test
+    void testSavedItemsUpdateSuggestions() {
+        suggester.onItemSaved(new ItemSavedEvent(createItem(1L, "Молоток", true)));
+        suggester.onItemSaved(new ItemSavedEvent(createItem(3L, "дрель", false)));
+        suggester.onItemSaved(new ItemSavedEvent(createItem(5L, "Дрезина", true)));
+
+        assertEquals(List.of("Древесный уголь", "Дрезина", "Дрель ударная"), suggester.suggest("дре", 10));
+        assertEquals(List.of("Дрель ударная"), suggester.suggest("дрель", 10));
+        assertEquals(List.of("Молоток"), suggester.suggest("м", 10));
+    }
+
+    @Test
+    void testRemovedNamesArePrunedFromTrie() {
+        suggester.onItemSaved(new ItemSavedEvent(createItem(2L, "Дрель ударная", false)));
+        suggester.onItemSaved(new ItemSavedEvent(createItem(4L, "Древесный уголь", false)));
+        suggester.onItemSaved(new ItemSavedEvent(createItem(2L, "Дрель ударная", true)));
+
+        assertEquals(List.of("Дрель", "Дрель ударная", "Дрожжи"), suggester.suggest("др", 10));
+        assertTrue(suggester.suggest("древ", 10).isEmpty());
+    }
+
+    private Item createItem(Long id, String name, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(available);
+        return item;
+    }
+}
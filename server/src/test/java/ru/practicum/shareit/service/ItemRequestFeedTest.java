@@ -0,0 +1,205 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
+import ru.practicum.shareit.request.model.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestFeedTest {
+    @Mock
+    private RequestRepository requestRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemRequestFeed feed;
+
+    @BeforeEach
+    public void setup() {
+        feed = new ItemRequestFeed(requestRepository, itemRepository, 3);
+    }
+
+    @Test
+    void testReadBeforeRebuildFallsBack() {
+        assertNull(feed.read(1L, 0, 10));
+    }
+
+    @Test
+    void testRebuildLoadsLatestRequestsWithItems() {
+        rebuild(List.of(createRequest(3L, 2L), createRequest(2L, 1L)), List.of(createItem(7L, 2L)));
+
+        ItemRequestFeed.Page page = feed.read(5L, 0, 10);
+
+        assertEquals(List.of(3L, 2L), ids(page.getRequests()));
+        assertTrue(page.getRequests().get(0).getItems().isEmpty());
+        assertEquals(7L, page.getRequests().get(1).getItems().get(0).getId());
+        assertTrue(page.isExhausted());
+        assertTrue(page.isComplete());
+        assertNull(page.getContinueAfter());
+    }
+
+    @Test
+    void testReadSkipsOwnRequestsAndPaginates() {
+        rebuild(List.of(createRequest(3L, 2L), createRequest(2L, 1L), createRequest(1L, 2L)), List.of());
+
+        assertEquals(List.of(3L, 1L), ids(feed.read(1L, 0, 10).getRequests()));
+        ItemRequestFeed.Page page = feed.read(1L, 1, 1);
+        assertEquals(List.of(1L), ids(page.getRequests()));
+        assertFalse(page.isExhausted());
+        assertFalse(page.isComplete());
+
+        ItemRequestFeed.Page boundary = feed.read(1L, 2, 10);
+        assertTrue(boundary.getRequests().isEmpty());
+        assertTrue(boundary.isExhausted());
+        assertEquals(1L, boundary.getContinueAfter().getId());
+        assertEquals(new Timestamp(1000), boundary.getContinueAfter().getCreated());
+
+        assertNull(feed.read(1L, 5, 10));
+    }
+
+    @Test
+    void testReadByCursor() {
+        rebuild(List.of(createRequest(3L, 2L), createRequest(2L, 2L), createRequest(1L, 2L)), List.of());
+
+        ItemRequestFeed.Page page = feed.read(1L, ItemRequestCursor.of(createRequest(3L, 2L)), 1);
+        assertEquals(List.of(2L), ids(page.getRequests()));
+        assertFalse(page.isExhausted());
+
+        ItemRequestFeed.Page last = feed.read(1L, ItemRequestCursor.of(createRequest(2L, 2L)), 10);
+        assertEquals(List.of(1L), ids(last.getRequests()));
+        assertEquals(1L, last.getContinueAfter().getId());
+
+        assertNull(feed.read(1L, ItemRequestCursor.of(createRequest(1L, 2L)), 10));
+    }
+
+    @Test
+    void testSavedRequestEvictsOldest() {
+        rebuild(List.of(createRequest(2L, 2L), createRequest(1L, 2L)), List.of());
+        assertTrue(feed.read(1L, 0, 10).isComplete());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(3L, 2L)));
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(3L, 2L)));
+        assertEquals(List.of(3L, 2L, 1L), ids(feed.read(1L, 0, 10).getRequests()));
+        assertTrue(feed.read(1L, 0, 10).isComplete());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(4L, 2L)));
+        ItemRequestFeed.Page page = feed.read(1L, 0, 10);
+        assertEquals(List.of(4L, 3L, 2L), ids(page.getRequests()));
+        assertFalse(page.isComplete());
+        assertEquals(2L, page.getContinueAfter().getId());
+    }
+
+    @Test
+    void testOutOfOrderCommitsKeepFeedSorted() {
+        rebuild(List.of(createRequest(6L, 2L), createRequest(4L, 2L), createRequest(2L, 2L)), List.of());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(7L, 2L)));
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(5L, 2L)));
+        ItemRequestFeed.Page page = feed.read(1L, 0, 10);
+        assertEquals(List.of(7L, 6L, 5L), ids(page.getRequests()));
+        assertEquals(5L, page.getContinueAfter().getId());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(3L, 2L)));
+        assertEquals(List.of(7L, 6L, 5L), ids(feed.read(1L, 0, 10).getRequests()));
+    }
+
+    @Test
+    void testOutOfOrderCommitIntoCompleteFeed() {
+        rebuild(List.of(createRequest(4L, 2L)), List.of());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(5L, 2L)));
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(2L, 2L)));
+        assertEquals(List.of(5L, 4L, 2L), ids(feed.read(1L, 0, 10).getRequests()));
+        assertTrue(feed.read(1L, 0, 10).isComplete());
+
+        feed.onRequestSaved(new ItemRequestSavedEvent(createRequest(1L, 2L)));
+        ItemRequestFeed.Page page = feed.read(1L, 0, 10);
+        assertEquals(List.of(5L, 4L, 2L), ids(page.getRequests()));
+        assertFalse(page.isComplete());
+        assertEquals(2L, page.getContinueAfter().getId());
+    }
+
+    @Test
+    void testSavedItemIsAttachedToRequest() {
+        rebuild(List.of(createRequest(1L, 2L)), List.of());
+        for (long id = ItemRequestService.REQUEST_ITEMS_LIMIT + 1; id > 0; id--) {
+            feed.onItemSaved(new ItemSavedEvent(createItem(id, 1L)));
+        }
+        Item renamed = createItem(1L, 1L);
+        renamed.setName("Renamed");
+        feed.onItemSaved(new ItemSavedEvent(renamed));
+        feed.onItemSaved(new ItemSavedEvent(createItem(100L, 99L)));
+
+        List<Item> items = feed.read(5L, 0, 10).getRequests().get(0).getItems();
+
+        assertEquals(ItemRequestService.REQUEST_ITEMS_LIMIT, items.size());
+        assertEquals(1L, items.get(0).getId());
+        assertEquals("Renamed", items.get(0).getName());
+        assertEquals(2L, items.get(0).getOwner().getId());
+    }
+
+    private void rebuild(List<ItemRequest> latest, List<Item> items) {
+        when(requestRepository.findLatest(PageRequest.of(0, 3)))
+                .thenReturn(latest);
+        if (!latest.isEmpty()) {
+            when(itemRepository.findAllByRequestIdInOrderById(anyList()))
+                    .thenReturn(items);
+        }
+        feed.rebuild();
+    }
+
+    private static List<Long> ids(List<ItemRequestWithItems> requests) {
+        return requests.stream().map(request -> request.getRequest().getId()).collect(Collectors.toList());
+    }
+
+    private static ItemRequest createRequest(Long id, Long requestorId) {
+        User requestor = new User();
+        requestor.setId(requestorId);
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("Request " + id);
+        request.setCreated(new Timestamp(id * 1000));
+        request.setRequestor(requestor);
+        return request;
+    }
+
+    private static Item createItem(Long id, Long requestId) {
+        User owner = new User();
+        owner.setId(2L);
+        ItemRequest request = new ItemRequest();
+        request.setId(requestId);
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setDescription("Example");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        return item;
+    }
+}
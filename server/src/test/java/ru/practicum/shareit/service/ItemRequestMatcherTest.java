@@ -0,0 +1,126 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemMatchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestMatcherTest {
+    @Mock
+    private ItemMatchIndex itemMatchIndex;
+
+    @Mock
+    private ItemSuggestionRepository itemSuggestionRepository;
+
+    private ItemRequestMatcher matcher;
+
+    @BeforeEach
+    public void setup() {
+        matcher = new ItemRequestMatcher(itemMatchIndex, itemSuggestionRepository, 3, 2, 5);
+    }
+
+    @Test
+    void testPendingRequestsAreSavedInBatches() {
+        when(itemMatchIndex.match("Нужна дрель", 1L, 5))
+                .thenReturn(List.of(createItem(10L, 2L), createItem(11L, 3L)));
+        when(itemMatchIndex.match("Нужен молоток", 1L, 5))
+                .thenReturn(List.of());
+        when(itemMatchIndex.match("Нужна пила", 1L, 5))
+                .thenReturn(List.of(createItem(12L, 2L)));
+        matcher.onRequestSaved(new ItemRequestSavedEvent(createRequest(1L, "Нужна дрель")));
+        matcher.onRequestSaved(new ItemRequestSavedEvent(createRequest(2L, "Нужен молоток")));
+        matcher.onRequestSaved(new ItemRequestSavedEvent(createRequest(3L, "Нужна пила")));
+
+        matcher.matchPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemSuggestion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemSuggestionRepository, times(2)).saveAll(captor.capture());
+        List<ItemSuggestion> first = captor.getAllValues().get(0);
+        assertEquals(List.of(10L, 11L), first.stream().map(s -> s.getItem().getId()).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 3L), first.stream().map(s -> s.getOwner().getId()).collect(Collectors.toList()));
+        assertEquals(1L, first.get(0).getRequest().getId());
+        assertEquals(3L, captor.getAllValues().get(1).get(0).getRequest().getId());
+    }
+
+    @Test
+    void testRejectedBatchIsRetriedRowByRow() {
+        when(itemMatchIndex.match("Нужна дрель", 1L, 5))
+                .thenReturn(List.of(createItem(10L, 2L), createItem(11L, 3L), createItem(12L, 2L)));
+        when(itemSuggestionRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("item 11 was deleted"));
+        when(itemSuggestionRepository.save(any(ItemSuggestion.class)))
+                .thenAnswer(invocation -> {
+                    ItemSuggestion suggestion = invocation.getArgument(0);
+                    if (suggestion.getItem().getId() == 11L) {
+                        throw new DataIntegrityViolationException("item 11 was deleted");
+                    }
+                    return suggestion;
+                });
+        matcher.onRequestSaved(new ItemRequestSavedEvent(createRequest(1L, "Нужна дрель")));
+
+        matcher.matchPending();
+
+        ArgumentCaptor<ItemSuggestion> captor = ArgumentCaptor.forClass(ItemSuggestion.class);
+        verify(itemSuggestionRepository, times(3)).save(captor.capture());
+        assertEquals(List.of(10L, 11L, 12L), captor.getAllValues().stream()
+                .map(s -> s.getItem().getId())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFullQueueDropsRequests() {
+        when(itemMatchIndex.match("Нужна дрель", 1L, 5))
+                .thenReturn(List.of());
+        for (long id = 1; id <= 5; id++) {
+            matcher.onRequestSaved(new ItemRequestSavedEvent(createRequest(id, "Нужна дрель")));
+        }
+
+        matcher.matchPending();
+
+        verify(itemMatchIndex, times(3)).match("Нужна дрель", 1L, 5);
+        verify(itemSuggestionRepository, never()).saveAll(anyList());
+    }
+
+    private static ItemRequest createRequest(Long id, String description) {
+        User requestor = new User();
+        requestor.setId(1L);
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription(description);
+        request.setRequestor(requestor);
+        return request;
+    }
+
+    private static Item createItem(Long id, Long ownerId) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(id);
+        item.setOwner(owner);
+        return item;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.requests.matching.delay-ms=3600000")
+public class ItemRequestMatchingTest {
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRequestMatcher itemRequestMatcher;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    private User requestor;
+
+    private Item item;
+
+    private ItemRequest request;
+
+    @BeforeEach
+    public void setup() {
+        owner = userRepository.save(createUser("owner@matching.com"));
+        requestor = userRepository.save(createUser("requestor@matching.com"));
+        item = new Item();
+        item.setName("Сопоставляемый перфоратор");
+        item.setDescription("Ударный перфоратор");
+        item.setAvailable(true);
+        item = itemService.addItem(owner.getId(), item);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        itemRepository.delete(item);
+        if (request != null) {
+            requestRepository.delete(request);
+        }
+        userRepository.delete(requestor);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void testNewRequestIsSuggestedToOwner() {
+        request = new ItemRequest();
+        request.setDescription("Нужен сопоставляемый перфоратор на выходные");
+        request = itemRequestService.addItemRequest(requestor.getId(), request);
+
+        assertTrue(itemRequestService.getSuggestions(owner.getId(), PageRequest.of(0, 10)).isEmpty());
+        itemRequestMatcher.matchPending();
+
+        List<ItemSuggestion> suggestions = itemRequestService.getSuggestions(owner.getId(), PageRequest.of(0, 10));
+        assertEquals(1, suggestions.size());
+        assertEquals(request.getId(), suggestions.get(0).getRequest().getId());
+        assertEquals(request.getDescription(), suggestions.get(0).getRequest().getDescription());
+        assertEquals(item.getId(), suggestions.get(0).getItem().getId());
+        assertTrue(itemRequestService.getSuggestions(requestor.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static User createUser(String email) {
+        User user = new User();
+        user.setName("Example");
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -6,26 +6,42 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
+import ru.practicum.shareit.request.model.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +55,15 @@ public class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSuggestionRepository itemSuggestionRepository;
+
+    @Mock
+    private ItemRequestFeed itemRequestFeed;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ItemRequest itemRequest;
 
     private User user;
@@ -60,13 +85,82 @@ public class ItemRequestServiceTest {
 
         ItemRequest savedItemRequest = itemRequestService.addItemRequest(1L, itemRequest);
         assertTrue(savedItemRequest.getId() == 1L);
+        verify(eventPublisher).publishEvent(any(ItemRequestSavedEvent.class));
+    }
+
+    @Test
+    void testGetAllRequestsWithPagesServedFromFeed() {
+        ItemRequestWithItems entry = new ItemRequestWithItems(itemRequest, List.of());
+        when(itemRequestFeed.read(2L, 0, 1))
+                .thenReturn(new ItemRequestFeed.Page(List.of(entry), false, false, null));
+
+        assertEquals(List.of(entry), itemRequestService.getAllRequestsWithPages(2L, 0, 1));
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void testGetAllRequestsWithPagesFromCompleteFeed() {
+        ItemRequestWithItems entry = new ItemRequestWithItems(itemRequest, List.of());
+        when(itemRequestFeed.read(2L, 0, 10))
+                .thenReturn(new ItemRequestFeed.Page(List.of(entry), true, true, null));
+
+        assertEquals(List.of(entry), itemRequestService.getAllRequestsWithPages(2L, 0, 10));
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void testGetAllRequestsWithPagesContinuesAfterFeedByKeyset() {
+        Timestamp created = Timestamp.valueOf("2023-07-04 19:59:22");
+        itemRequest.setCreated(created);
+        ItemRequestWithItems entry = new ItemRequestWithItems(itemRequest, List.of());
+        ItemRequest older = new ItemRequest();
+        older.setId(0L);
+        when(itemRequestFeed.read(2L, 3, 10))
+                .thenReturn(new ItemRequestFeed.Page(List.of(entry), true, false, ItemRequestCursor.of(itemRequest)));
+        when(requestRepository.findAllWithPaginationBefore(2L, created, 1L, 9))
+                .thenReturn(List.of(older));
+
+        List<ItemRequestWithItems> requests = itemRequestService.getAllRequestsWithPages(2L, 3, 10);
+
+        assertEquals(2, requests.size());
+        assertSame(entry, requests.get(0));
+        assertSame(older, requests.get(1).getRequest());
+        assertNull(requests.get(1).getItems());
+    }
+
+    @Test
+    void testGetAllRequestsWithPagesWithoutFeed() {
+        when(itemRequestFeed.read(2L, 0, 10))
+                .thenReturn(null);
+        when(requestRepository.findAllWithPagination(2L, 0, 10))
+                .thenReturn(List.of(itemRequest));
+
+        List<ItemRequestWithItems> requests = itemRequestService.getAllRequestsWithPages(2L, 0, 10);
+
+        assertEquals(1, requests.size());
+        assertSame(itemRequest, requests.get(0).getRequest());
+    }
+
+    @Test
+    void testGetAllRequestsWithPagesByCursorBeyondFeed() {
+        ItemRequestCursor cursor = new ItemRequestCursor(Timestamp.valueOf("2023-07-04 19:59:22"), 5L);
+        when(itemRequestFeed.read(2L, cursor, 2))
+                .thenReturn(null);
+        when(requestRepository.findAllWithPaginationBefore(2L, cursor.getCreated(), 5L, 2))
+                .thenReturn(List.of(itemRequest, new ItemRequest()));
+
+        Slice<ItemRequestWithItems> requests = itemRequestService.getAllRequestsWithPages(2L, cursor, 1);
+
+        assertEquals(1, requests.getNumberOfElements());
+        assertSame(itemRequest, requests.getContent().get(0).getRequest());
+        assertTrue(requests.hasNext());
     }
 
     @Test
     void testGetAllRequests() {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        when(requestRepository.findAllByRequestorId(anyLong()))
+        when(requestRepository.findAllByRequestorId(anyLong(), any(Pageable.class)))
                 .thenReturn(new ArrayList<ItemRequest>());
 
         List<ItemRequest> savedItemRequest = itemRequestService.getAllRequests(1L,
@@ -74,6 +168,55 @@ public class ItemRequestServiceTest {
         assertNotNull(savedItemRequest);
     }
 
+    @Test
+    void testGetAllRequestsFirstSlice() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(requestRepository.findSliceByRequestorId(1L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest), PageRequest.of(0, 10), true));
+
+        Slice<ItemRequest> requests = itemRequestService.getAllRequests(1L, null, 10);
+
+        assertEquals(List.of(itemRequest), requests.getContent());
+        assertTrue(requests.hasNext());
+    }
+
+    @Test
+    void testGetAllRequestsAfterCursor() {
+        Timestamp created = Timestamp.valueOf("2023-07-04 19:59:22");
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(requestRepository.findSliceByRequestorIdBefore(1L, created, 5L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, 10), false));
+
+        Slice<ItemRequest> requests = itemRequestService.getAllRequests(1L, new ItemRequestCursor(created, 5L), 10);
+
+        assertTrue(requests.getContent().isEmpty());
+        assertFalse(requests.hasNext());
+    }
+
+    @Test
+    void testGetSuggestions() {
+        ItemSuggestion suggestion = new ItemSuggestion(1L, itemRequest, createItem(), user, null);
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemSuggestionRepository.findAllByOwnerId(1L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(suggestion));
+
+        assertEquals(List.of(suggestion), itemRequestService.getSuggestions(1L, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void testGetSuggestionsForUnknownUser() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        UnknownIdException exception = assertThrows(UnknownIdException.class,
+                () -> itemRequestService.getSuggestions(1L, PageRequest.of(0, 10)));
+
+        assertEquals("User not found", exception.getMessage());
+    }
+
     @Test
     void testGetAllRequestsWithError1() {
         when(userRepository.existsById(anyLong()))
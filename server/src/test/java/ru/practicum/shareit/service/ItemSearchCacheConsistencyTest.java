@@ -0,0 +1,115 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class ItemSearchCacheConsistencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@cache.com");
+        owner = userRepository.save(owner);
+        item = new Item();
+        item.setName("Кэшируемая дрель");
+        item.setDescription("Проверка кэша");
+        item.setAvailable(true);
+        item = itemService.addItem(owner.getId(), item);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        itemRepository.delete(item);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    public void testUnavailableItemDisappearsFromCachedResults() {
+        assertEquals(List.of(item.getId()), search("кэшируемая"));
+        assertEquals(List.of(item.getId()), search("КЭШИРУЕМАЯ"));
+
+        setAvailable(false);
+
+        assertTrue(search("кэшируемая").isEmpty());
+    }
+
+    @Test
+    public void testConcurrentSearchesNeverCacheStaleResults() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(THREADS);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            readers.add(executor.submit(() -> {
+                started.countDown();
+                while (running.get()) {
+                    search("дрель");
+                }
+            }));
+        }
+        started.await();
+        for (int i = 0; i < 20; i++) {
+            setAvailable(i % 2 == 0);
+        }
+        setAvailable(false);
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(search("дрель").isEmpty());
+    }
+
+    private void setAvailable(boolean available) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setAvailable(available);
+        itemService.updateItem(owner.getId(), item.getId(), itemDto);
+    }
+
+    private List<Long> search(String keyword) {
+        return itemService.findItemsByKeyword(keyword, PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .filter(id -> id.equals(item.getId()))
+                .collect(Collectors.toList());
+    }
+}
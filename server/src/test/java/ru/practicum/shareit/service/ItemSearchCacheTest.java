@@ -0,0 +1,98 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemSearchCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemSearchCache cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 10);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testCachesByNormalizedKeywordAndPage() {
+        load("Дрель", 0);
+        load("дРЕЛЬ", 0);
+        load("дрель", 1);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.counter("items.search.cache", "result", "hit").count());
+        assertEquals(2, meterRegistry.counter("items.search.cache", "result", "miss").count());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntry() {
+        cache = new ItemSearchCache(meterRegistry, 2);
+        load("дрель", 0);
+        load("пила", 0);
+        load("дрель", 0);
+        load("молоток", 0);
+        load("дрель", 0);
+        load("пила", 0);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(2, meterRegistry.counter("items.search.cache.evictions", "cause", "size").count());
+    }
+
+    @Test
+    void testInvalidatesOnlyKeywordsMatchingOldOrNewState() {
+        load("дрель", 0);
+        load("пила", 0);
+        load("молоток", 0);
+
+        cache.onItemSaved(new ItemSavedEvent(createItem("Дрель ударная", false), createItem("Дрель ударная", true)));
+        cache.onItemSaved(new ItemSavedEvent(createItem("Пила", true), createItem("Ножовка", true)));
+        loads.set(0);
+        load("дрель", 0);
+        load("пила", 0);
+        load("молоток", 0);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testIgnoresChangesInvisibleToSearch() {
+        load("дрель", 0);
+
+        cache.onItemSaved(new ItemSavedEvent(createItem("Дрель", true), createItem("Дрель", true)));
+        cache.onItemSaved(new ItemSavedEvent(createItem("Дрель", false), createItem("Дрель", false)));
+        load("дрель", 0);
+
+        assertEquals(1, loads.get());
+    }
+
+    private void load(String keyword, int page) {
+        cache.get(keyword, PageRequest.of(page, 10), () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+    }
+
+    private Item createItem(String name, boolean available) {
+        Item item = new Item();
+        item.setId(1L);
+        item.setName(name);
+        item.setDescription("Описание");
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -3,11 +3,18 @@ package ru.practicum.shareit.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -16,11 +23,21 @@ import ru.practicum.shareit.error.exception.IllegalUserException;
 import ru.practicum.shareit.error.exception.UnavailableItemException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentCursor;
+import ru.practicum.shareit.item.model.CommentSavedEvent;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentCount;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -28,7 +45,10 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -36,8 +56,12 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +81,27 @@ public class ItemServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemNameSuggester itemNameSuggester;
+
+    @Mock
+    private ObjectProvider<ItemNameSuggester> itemNameSuggesterProvider;
+
+    @Mock
+    private ItemSearchCache itemSearchCache;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Spy
+    private ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Item item;
 
     private User user;
@@ -87,6 +132,7 @@ public class ItemServiceTest {
         Item savedItem = itemService.addItem(1L, item);
 
         assertEquals(savedItem.getId(), 1L);
+        verify(eventPublisher, times(1)).publishEvent(any(ItemSavedEvent.class));
     }
 
     @Test
@@ -137,6 +183,8 @@ public class ItemServiceTest {
     @Test
     void testUpdateItem() {
         item.getOwner().setId(1L);
+        itemDto.setId(5L);
+        itemDto.setName("Updated");
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any(Item.class)))
@@ -145,6 +193,40 @@ public class ItemServiceTest {
         Item savedItem = itemService.updateItem(1L, 1L, itemDto);
 
         assertEquals(savedItem.getId(), 1L);
+        assertEquals("Updated", savedItem.getName());
+        assertEquals("Example text", savedItem.getDescription());
+    }
+
+    @Test
+    void testUpdateItemWithoutChangesDoesNotWrite() {
+        item.getOwner().setId(1L);
+        itemDto.setName(item.getName());
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        Item savedItem = itemService.updateItem(1L, 1L, itemDto);
+
+        assertEquals(savedItem.getId(), 1L);
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateItemPublishesPreviousState() {
+        item.getOwner().setId(1L);
+        itemDto.setAvailable(false);
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(itemRepository.save(any(Item.class)))
+                .thenReturn(item);
+        ArgumentCaptor<ItemSavedEvent> captor = ArgumentCaptor.forClass(ItemSavedEvent.class);
+
+        itemService.updateItem(1L, 1L, itemDto);
+
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().getPrevious().getAvailable());
+        assertEquals(false, captor.getValue().getItem().getAvailable());
+        assertTrue(captor.getValue().isSearchableChange());
     }
 
     @Test
@@ -173,19 +255,65 @@ public class ItemServiceTest {
 
     @Test
     void testGetItemById() {
+        passThroughDetailsCache();
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
+        when(commentRepository.findCommentsByItemId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         Item savedItem = itemService.getItemById(1L, 1L);
 
         assertEquals(savedItem.getId(), 1L);
     }
 
+    @Test
+    void testGetItemByIdCountsCommentsBeyondPreview() {
+        passThroughDetailsCache();
+        Comment comment = new Comment();
+        comment.setAuthor(user);
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findCommentsByItemId(1L, 0L, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(comment), PageRequest.of(0, 20), true));
+        when(commentRepository.countByItemId(1L))
+                .thenReturn(45L);
+
+        Item savedItem = itemService.getItemById(1L, 1L);
+
+        assertEquals(45L, savedItem.getCommentCount());
+        assertEquals("Example", savedItem.getComments().get(0).getAuthorName());
+    }
+
+    @Test
+    void testGetCommentsAfterCursor() {
+        Comment comment = new Comment();
+        comment.setAuthor(user);
+        when(itemRepository.existsById(1L))
+                .thenReturn(true);
+        when(commentRepository.findCommentsByItemId(1L, 7L, PageRequest.of(0, 5)))
+                .thenReturn(new SliceImpl<>(List.of(comment)));
+
+        Slice<Comment> comments = itemService.getComments(1L, new CommentCursor(7L), 5);
+
+        assertEquals("Example", comments.getContent().get(0).getAuthorName());
+    }
+
+    @Test
+    void testGetCommentsOfUnknownItem() {
+        when(itemRepository.existsById(1L))
+                .thenReturn(false);
+
+        assertThrows(UnknownIdException.class, () -> itemService.getComments(1L, null, 5));
+    }
+
     @Test
     void testGetItemById_OwnerRequest() {
+        passThroughDetailsCache();
         item.setOwner(user);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
+        when(commentRepository.findCommentsByItemId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         Item savedItem = itemService.getItemById(1L, 1L);
 
@@ -212,8 +340,36 @@ public class ItemServiceTest {
         assertNull(savedItems);
     }
 
+    @Test
+    void testGetItemsByRequestsGroupsAndCapsItems() {
+        List<Item> items = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            Item item = createItem();
+            item.setId(i);
+            ItemRequest request = new ItemRequest();
+            request.setId(i == 4 ? 2L : 1L);
+            item.setRequest(request);
+            items.add(item);
+        }
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(1L, 2L, 3L)))
+                .thenReturn(items);
+
+        Map<Long, List<Item>> result = itemService.getItemsByRequests(List.of(1L, 2L, 3L), 2);
+
+        assertEquals(List.of(1L, 2L), result.get(1L).stream().map(Item::getId).collect(Collectors.toList()));
+        assertEquals(List.of(4L), result.get(2L).stream().map(Item::getId).collect(Collectors.toList()));
+        assertNull(result.get(3L));
+    }
+
+    @Test
+    void testGetItemsByRequestsWithoutRequests() {
+        assertTrue(itemService.getItemsByRequests(new ArrayList<>(), 20).isEmpty());
+        verify(itemRepository, never()).findAllByRequestIdInOrderById(any());
+    }
+
     @Test
     void testGetItemByIdWithError() {
+        passThroughDetailsCache();
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -233,9 +389,24 @@ public class ItemServiceTest {
         assertNotNull(savedItem);
     }
 
+    @Test
+    void testGetItemsByOwnerIdCountsCommentsInOneQuery() {
+        when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(item));
+        when(commentRepository.countByItemIds(List.of(1L)))
+                .thenReturn(List.of(commentCount(1L, 3L)));
+
+        List<Item> items = itemService.getItemsByOwnerId(2L, PageRequest.of(0, 10));
+
+        assertEquals(3L, items.get(0).getCommentCount());
+        assertTrue(items.get(0).isOwnerRequest());
+    }
+
     @Test
     void testGetItemsByKeyword() {
-        when(itemRepository.findItemsByKeyword(anyString(), any(Pageable.class)))
+        when(itemSearchCache.get(anyString(), any(Pageable.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<Item>>>getArgument(2).get());
+        when(itemSearchEngine.search(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<Item>());
 
         List<Item> savedItem = itemService.findItemsByKeyword("example", PageRequest.of(0 / 9999, 9999));
@@ -250,6 +421,46 @@ public class ItemServiceTest {
         assertNotNull(savedItem);
     }
 
+    @Test
+    void testGetItemsBySimilarity() {
+        when(itemSearchEngine.searchSimilar(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(item));
+
+        List<Item> savedItems = itemService.findItemsBySimilarity("exampel", PageRequest.of(0, 10));
+
+        assertEquals(List.of(item), savedItems);
+    }
+
+    @Test
+    void testGetItemsBySimilarity_EmptyKeyword() {
+        List<Item> savedItems = itemService.findItemsBySimilarity("", PageRequest.of(0, 10));
+
+        assertTrue(savedItems.isEmpty());
+    }
+
+    @Test
+    void testSuggestItemNames() {
+        when(itemNameSuggesterProvider.getIfAvailable()).thenReturn(itemNameSuggester);
+        when(itemNameSuggester.suggest("дре", 10)).thenReturn(List.of("Дрель"));
+
+        assertEquals(List.of("Дрель"), itemService.suggestItemNames("дре", 10));
+    }
+
+    @Test
+    void testSuggestItemNames_Disabled() {
+        assertTrue(itemService.suggestItemNames("дре", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggestItemNames_BlankPrefix() {
+        when(itemNameSuggesterProvider.getIfAvailable()).thenReturn(itemNameSuggester);
+
+        List<String> names = itemService.suggestItemNames("  ", 10);
+
+        assertTrue(names.isEmpty());
+        verify(itemNameSuggester, never()).suggest(anyString(), anyInt());
+    }
+
     @Test
     void testAddComment() {
         Comment comment = new Comment();
@@ -268,6 +479,7 @@ public class ItemServiceTest {
         Comment savedComment = itemService.addComment(1L, 1L, comment);
 
         assertEquals(savedComment.getId(), 1L);
+        verify(eventPublisher, times(1)).publishEvent(any(CommentSavedEvent.class));
     }
 
     @Test
@@ -340,6 +552,11 @@ public class ItemServiceTest {
         assertEquals("Text field cannot be empty", exception.getMessage());
     }
 
+    private void passThroughDetailsCache() {
+        when(itemDetailsCache.get(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Item>>getArgument(1).get());
+    }
+
     private Booking createBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
@@ -365,4 +582,18 @@ public class ItemServiceTest {
         item.setAvailable(true);
         return item;
     }
+
+    private ItemCommentCount commentCount(Long itemId, Long count) {
+        return new ItemCommentCount() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemIndexEntry;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramItemSimilaritySearch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrigramItemSimilaritySearchTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private TrigramItemSimilaritySearch similaritySearch;
+
+    private Map<Long, Item> database;
+
+    @BeforeEach
+    public void setup() {
+        List<Item> items = List.of(createItem(1L, "Дрель", "Простая дрель", true),
+                createItem(2L, "Отвертка", "Аккумуляторная отвертка", true),
+                createItem(3L, "Дрель ударная", "Мощная", false),
+                createItem(4L, "Перфоратор", "Ударная дрель и перфоратор", true));
+        database = items.stream().collect(Collectors.toMap(Item::getId, item -> item));
+        similaritySearch = new TrigramItemSimilaritySearch(itemRepository);
+        when(itemRepository.streamIndexEntries()).thenReturn(items.stream().map(ItemIndexEntry::of));
+        lenient().when(itemRepository.findAllByIdInAndAvailableTrue(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(database::get)
+                        .filter(Item::getAvailable)
+                        .collect(Collectors.toList()));
+        similaritySearch.rebuild();
+    }
+
+    @Test
+    void testSimilarSearchToleratesTypos() {
+        assertEquals(List.of(1L, 4L), ids(similaritySearch.search("дрепь", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(similaritySearch.search("отвретка", PageRequest.of(0, 10))));
+        assertTrue(similaritySearch.search("молоток", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testSimilarSearchRanksBySimilarity() {
+        assertEquals(List.of(4L, 1L), ids(similaritySearch.search("перфоратр дрель", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(similaritySearch.search("перфоратр дрель", PageRequest.of(1, 1))));
+    }
+
+    @Test
+    void testItemsUnavailableInDatabaseDoNotShortenPages() {
+        database.get(4L).setAvailable(false);
+
+        assertEquals(List.of(1L), ids(similaritySearch.search("перфоратр дрель", PageRequest.of(0, 1))));
+        assertTrue(similaritySearch.search("перфоратр дрель", PageRequest.of(1, 1)).isEmpty());
+    }
+
+    @Test
+    void testSavedItemIsReindexed() {
+        similaritySearch.onItemSaved(new ItemSavedEvent(createItem(1L, "Молоток", "Тяжелый", false)));
+        database.put(3L, createItem(3L, "Дрель ударная", "Мощная", true));
+        similaritySearch.onItemSaved(new ItemSavedEvent(database.get(3L)));
+
+        assertEquals(List.of(3L, 4L), ids(similaritySearch.search("дрепь", PageRequest.of(0, 10))));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
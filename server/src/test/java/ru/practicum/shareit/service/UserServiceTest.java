@@ -2,12 +2,16 @@ package ru.practicum.shareit.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.error.exception.DuplicatedEmailException;
+import ru.practicum.shareit.error.exception.EmptyEmailException;
 import ru.practicum.shareit.error.exception.UnknownIdException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
@@ -23,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +36,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
     @InjectMocks
     private UserService userService;
 
@@ -56,18 +65,45 @@ public class UserServiceTest {
         assertTrue(exception.getMessage().contains("Email already registered"));
     }
 
+    @Test
+    void testAddUserWithEmptyEmail() {
+        User user = createUser();
+        user.setEmail(" ");
+
+        EmptyEmailException exception = assertThrows(EmptyEmailException.class, () -> userService.addUser(user));
+
+        assertEquals("Email field cannot be empty", exception.getMessage());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testUpdateUser() {
         UserDto userDto = new UserDto();
-        userDto.setName("Example");
+        userDto.setId(5L);
+        userDto.setName("Updated");
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(createUser()));
         when(userRepository.save(any(User.class)))
-                .thenReturn(createUser());
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        User savedUser = userService.updateUser(1L, userDto);
+
+        assertEquals(1L, savedUser.getId());
+        assertEquals("Updated", savedUser.getName());
+        assertEquals(createUser().getEmail(), savedUser.getEmail());
+    }
+
+    @Test
+    void testUpdateUserWithoutChangesDoesNotWrite() {
+        UserDto userDto = new UserDto();
+        userDto.setName(createUser().getName());
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(createUser()));
 
         User savedUser = userService.updateUser(1L, userDto);
 
         assertEquals(1L, savedUser.getId());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test